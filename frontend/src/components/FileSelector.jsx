@@ -19,7 +19,7 @@ function FileSelector({ onFilesLoaded }) {
     setError(null)
 
     try {
-      const response = await fileService.selectFolder(folderPath)
+      const response = await fileService.waitForJob(await fileService.selectFolder(folderPath))
       if (response.data.success) {
         onFilesLoaded()
       } else {
@@ -42,7 +42,7 @@ function FileSelector({ onFilesLoaded }) {
     setError(null)
 
     try {
-      const response = await fileService.uploadFiles(openFile, releaseFile)
+      const response = await fileService.waitForJob(await fileService.uploadFiles(openFile, releaseFile))
       if (response.data.success) {
         onFilesLoaded()
       } else {
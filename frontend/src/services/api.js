@@ -9,6 +9,47 @@ const api = axios.create({
   },
 })
 
+// Browsers revalidate GETs with their ETags on their own; query POSTs (preview, aggregate, rows)
+// are revalidated here, so an unchanged dataset costs a 304 instead of a recomputed body
+const MAX_CONDITIONAL_ENTRIES = 200
+const conditionalCache = new Map()
+const conditionalKey = (config) => `${config.url}|${typeof config.data === 'string' ? config.data : JSON.stringify(config.data)}`
+
+api.interceptors.request.use((config) => {
+  if (config.method === 'post') {
+    const cached = conditionalCache.get(conditionalKey(config))
+    if (cached) {
+      config.headers['If-None-Match'] = cached.etag
+    }
+  }
+  return config
+})
+
+api.interceptors.response.use(
+  (response) => {
+    const etag = response.headers?.etag
+    if (response.config.method === 'post' && etag) {
+      const key = conditionalKey(response.config)
+      conditionalCache.delete(key)
+      conditionalCache.set(key, { etag, data: response.data })
+      if (conditionalCache.size > MAX_CONDITIONAL_ENTRIES) {
+        conditionalCache.delete(conditionalCache.keys().next().value)
+      }
+    }
+    return response
+  },
+  (error) => {
+    const { response } = error
+    if (response?.status === 304) {
+      const cached = conditionalCache.get(conditionalKey(response.config))
+      if (cached) {
+        return { ...response, status: 200, data: cached.data }
+      }
+    }
+    return Promise.reject(error)
+  },
+)
+
 export const fileService = {
   selectFolder: (path) => api.post('/files/select', { path }),
   uploadFiles: (openFile, releaseFile) => {
@@ -19,6 +60,16 @@ export const fileService = {
       headers: { 'Content-Type': 'multipart/form-data' },
     })
   },
+  getJob: (jobId) => api.get(`/files/jobs/${jobId}`),
+  // Uploads and folder selection return a background job; resolve with its final state
+  waitForJob: async (response, intervalMs = 1000) => {
+    let job = response.data
+    while (job.phase === 'RUNNING') {
+      await new Promise((resolve) => setTimeout(resolve, intervalMs))
+      job = (await api.get(`/files/jobs/${job.jobId}`)).data
+    }
+    return { ...response, data: job }
+  },
   validateFile: (type) => api.get('/files/validate', { params: { type } }),
   refresh: () => api.post('/files/refresh'),
 }
@@ -26,17 +77,51 @@ export const fileService = {
 export const dataService = {
   getSampleData: (type, limit = 50) =>
     api.get('/data/sample', { params: { type, limit } }),
+  getRows: (request) => api.post('/data/rows', request),
+  exportRows: (request) => api.post('/data/export', request, { responseType: 'blob' }),
   getStatistics: () => api.get('/data/statistics'),
   aggregate: (request) => api.post('/data/aggregate', request),
   getUniqueValues: (type, column) => api.get('/data/unique-values', { params: { type, column } }),
 }
 
+// Previews requested in the same tick (a dashboard mounting its widgets) are sent as one batch,
+// which the server evaluates with one filter and one fused scan per data source and grouping
+let pendingPreviews = []
+
+const flushPreviews = async () => {
+  const batch = pendingPreviews
+  pendingPreviews = []
+  try {
+    const response = await api.post('/widgets/batch', { widgets: batch.map((pending) => pending.config) })
+    const { previews = [], errors = [] } = response.data
+    batch.forEach((pending, i) => {
+      if (previews[i]) {
+        pending.resolve({ ...response, data: previews[i] })
+      } else {
+        const message = errors[i] || 'Preview failed'
+        pending.reject(Object.assign(new Error(message), { response: { data: { message } } }))
+      }
+    })
+  } catch (error) {
+    batch.forEach((pending) => pending.reject(error))
+  }
+}
+
 export const widgetService = {
-  preview: (config) => api.post('/widgets/preview', config),
+  preview: (config) =>
+    new Promise((resolve, reject) => {
+      if (pendingPreviews.length === 0) {
+        setTimeout(flushPreviews, 0)
+      }
+      pendingPreviews.push({ config, resolve, reject })
+    }),
+  previewBatch: (request) => api.post('/widgets/batch', request),
 }
 
 export const dashboardService = {
   save: (dashboard) => api.post('/dashboards', dashboard),
+  // Partial update: { name, layout, widgets, removedWidgetIds }; omitted fields are unchanged
+  patch: (id, changes) => api.patch(`/dashboards/${id}`, changes),
   list: () => api.get('/dashboards'),
   get: (id) => api.get(`/dashboards/${id}`),
   delete: (id) => api.delete(`/dashboards/${id}`),
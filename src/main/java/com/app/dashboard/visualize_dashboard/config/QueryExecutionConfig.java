@@ -0,0 +1,20 @@
+package com.app.dashboard.visualize_dashboard.config;
+
+import com.app.dashboard.visualize_dashboard.engine.ChunkedExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryExecutionConfig {
+
+    // Shared by all query operators, separate from the request and ingestion threads; its shutdown()
+    // is picked up as the bean's destroy method
+    @Bean
+    public ChunkedExecutor chunkedExecutor(@Value("${data.parallel.threads:0}") int threads,
+                                           @Value("${data.parallel.min-rows:100000}") int minRows,
+                                           @Value("${data.parallel.chunk-rows:65536}") int chunkRows) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ChunkedExecutor(parallelism, minRows, chunkRows);
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.dashboard.visualize_dashboard.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET/POST handling for the read-only query endpoints. The ETag is derived from a key
+ * that already carries the dataset version and the normalized request, so a matching If-None-Match
+ * is answered with 304 before anything is computed. Tags are only valid within one run of the
+ * server. ETags are weak: the body is semantically identical across encodings, and Tomcat skips
+ * compression for responses with strong ETags.
+ */
+final class ConditionalResponses {
+    
+    // Responses are immutable per dataset version, but URLs are not versioned, so clients revalidate
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    // Dataset versions restart with the process, so every ETag also carries a per-process epoch;
+    // a tag from before a restart never matches, even when the version number comes round again
+    private static final String EPOCH = UUID.randomUUID().toString();
+    
+    private ConditionalResponses() {
+    }
+    
+    static <T> ResponseEntity<T> respond(String ifNoneMatch, String key, Supplier<T> body) {
+        String etag = etag(key);
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(REVALIDATE)
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(body.get());
+    }
+    
+    static String etag(String key) {
+        return "W/\"" + UUID.nameUUIDFromBytes((EPOCH + key).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+    
+    // Weak comparison, as If-None-Match requires
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
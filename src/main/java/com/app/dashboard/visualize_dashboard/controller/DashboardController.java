@@ -1,7 +1,9 @@
 package com.app.dashboard.visualize_dashboard.controller;
 
+import com.app.dashboard.visualize_dashboard.model.dto.DashboardPatch;
 import com.app.dashboard.visualize_dashboard.model.dto.DashboardRequest;
 import com.app.dashboard.visualize_dashboard.model.dto.DashboardResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.DashboardSummary;
 import com.app.dashboard.visualize_dashboard.service.DashboardService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,9 +27,17 @@ public class DashboardController {
         return ResponseEntity.ok(response);
     }
     
+    @PatchMapping("/{id}")
+    public ResponseEntity<DashboardResponse> patchDashboard(@PathVariable String id, @RequestBody DashboardPatch patch) {
+        DashboardResponse response = dashboardService.patchDashboard(id, patch);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping
-    public ResponseEntity<List<DashboardResponse>> listDashboards() {
-        List<DashboardResponse> dashboards = dashboardService.listDashboards();
+    public ResponseEntity<List<DashboardSummary>> listDashboards(
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        List<DashboardSummary> dashboards = dashboardService.listDashboards(offset, limit);
         return ResponseEntity.ok(dashboards);
     }
     
@@ -2,17 +2,26 @@ package com.app.dashboard.visualize_dashboard.controller;
 
 import com.app.dashboard.visualize_dashboard.model.dto.AggregateRequest;
 import com.app.dashboard.visualize_dashboard.model.dto.AggregateResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.ColumnarRows;
+import com.app.dashboard.visualize_dashboard.model.dto.RowPageResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.RowQueryRequest;
 import com.app.dashboard.visualize_dashboard.model.dto.SampleDataResponse;
 import com.app.dashboard.visualize_dashboard.model.dto.StatisticsResponse;
+import com.app.dashboard.visualize_dashboard.model.table.DatasetSnapshot;
 import com.app.dashboard.visualize_dashboard.service.DataAggregationService;
 import com.app.dashboard.visualize_dashboard.service.FileService;
+import com.app.dashboard.visualize_dashboard.service.QueryResultCache;
+import com.app.dashboard.visualize_dashboard.service.RawDataService;
 import com.app.dashboard.visualize_dashboard.service.StatisticsService;
+import com.app.dashboard.visualize_dashboard.service.WidgetService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/data")
@@ -22,71 +31,85 @@ public class DataController {
     private final FileService fileService;
     private final StatisticsService statisticsService;
     private final DataAggregationService aggregationService;
+    private final WidgetService widgetService;
+    private final RawDataService rawDataService;
+    
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     
     public DataController(FileService fileService, 
                          StatisticsService statisticsService,
-                         DataAggregationService aggregationService) {
+                         DataAggregationService aggregationService,
+                         WidgetService widgetService,
+                         RawDataService rawDataService) {
         this.fileService = fileService;
         this.statisticsService = statisticsService;
         this.aggregationService = aggregationService;
+        this.widgetService = widgetService;
+        this.rawDataService = rawDataService;
     }
     
     @GetMapping("/sample")
     public ResponseEntity<SampleDataResponse> getSampleData(
             @RequestParam String type,
-            @RequestParam(defaultValue = "50") int limit) {
-        List<Map<String, Object>> allData = fileService.getData(type);
-        List<Map<String, Object>> sampleData = allData.stream()
-            .limit(limit)
-            .collect(Collectors.toList());
-        
-        SampleDataResponse response = new SampleDataResponse(
-            fileService.getColumns(type),
-            sampleData
-        );
-        return ResponseEntity.ok(response);
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DatasetSnapshot snapshot = fileService.getSnapshot(type);
+        int size = rawDataService.pageSize(limit);
+        String key = QueryResultCache.compose("sample", type, snapshot.getVersion(), size);
+        return ConditionalResponses.respond(ifNoneMatch, key, () -> new SampleDataResponse(
+            snapshot.getColumns(),
+            snapshot.getTable().getRows(size)
+        ));
+    }
+    
+    @PostMapping("/rows")
+    public ResponseEntity<RowPageResponse> getRows(
+            @RequestBody RowQueryRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.respond(ifNoneMatch, rawDataService.pageKey(request, false),
+            () -> rawDataService.page(request));
+    }
+    
+    @PostMapping(value = "/rows", produces = {ColumnarRows.MEDIA_TYPE, ColumnarRows.CBOR_MEDIA_TYPE})
+    public ResponseEntity<RowPageResponse> getRowsColumnar(
+            @RequestBody RowQueryRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.respond(ifNoneMatch, rawDataService.pageKey(request, true),
+            () -> rawDataService.pageColumnar(request));
+    }
+    
+    @PostMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestBody RowQueryRequest request) {
+        StreamingResponseBody body = rawDataService.export(request);
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + request.getType() + ".ndjson\"")
+            .body(body);
     }
     
     @GetMapping("/statistics")
-    public ResponseEntity<StatisticsResponse> getStatistics() {
-        StatisticsResponse stats = statisticsService.getStatistics();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<StatisticsResponse> getStatistics(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.respond(ifNoneMatch, statisticsService.statisticsKey(),
+            statisticsService::getStatistics);
     }
     
     @PostMapping("/aggregate")
-    public ResponseEntity<AggregateResponse> aggregate(@RequestBody AggregateRequest request) {
-        List<Map<String, Object>> data = fileService.getData(request.getType());
-        List<Map<String, Object>> filteredData = aggregationService.filter(data, request.getFilters());
-        
-        Map<String, Object> aggregated = aggregationService.aggregate(
-            filteredData,
-            request.getGroupBy(),
-            request.getOperation() != null ? request.getOperation() : "count",
-            request.getValueColumn()
-        );
-        
-        AggregateResponse response = new AggregateResponse();
-        
-        @SuppressWarnings("unchecked")
-        List<String> labels = (List<String>) aggregated.get("labels");
-        @SuppressWarnings("unchecked")
-        List<Object> values = (List<Object>) aggregated.get("values");
-        Object value = aggregated.get("value");
-        
-        response.setLabels(labels);
-        response.setValues(values);
-        response.setValue(value);
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<AggregateResponse> aggregate(
+            @RequestBody AggregateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.respond(ifNoneMatch, widgetService.aggregateKey(request),
+            () -> widgetService.aggregate(request));
     }
 
     @GetMapping("/unique-values")
     public ResponseEntity<List<Object>> getUniqueValues(
             @RequestParam String type,
-            @RequestParam String column) {
-        List<Map<String, Object>> data = fileService.getData(type);
-        List<Object> uniqueValues = aggregationService.getUniqueValues(data, column);
-        return ResponseEntity.ok(uniqueValues);
+            @RequestParam String column,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DatasetSnapshot snapshot = fileService.getSnapshot(type);
+        String key = QueryResultCache.compose("unique-values", type, snapshot.getVersion(), column.toLowerCase(Locale.ROOT));
+        return ConditionalResponses.respond(ifNoneMatch, key,
+            () -> aggregationService.getUniqueValues(snapshot.getTable(), column));
     }
 }
-
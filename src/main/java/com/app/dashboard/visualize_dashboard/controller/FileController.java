@@ -2,7 +2,10 @@ package com.app.dashboard.visualize_dashboard.controller;
 
 import com.app.dashboard.visualize_dashboard.model.dto.FileUploadRequest;
 import com.app.dashboard.visualize_dashboard.model.dto.FileValidationResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.IngestionJobResponse;
 import com.app.dashboard.visualize_dashboard.service.FileService;
+import com.app.dashboard.visualize_dashboard.service.IngestionService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -15,23 +18,33 @@ import java.util.Map;
 public class FileController {
     
     private final FileService fileService;
+    private final IngestionService ingestionService;
     
-    public FileController(FileService fileService) {
+    public FileController(FileService fileService, IngestionService ingestionService) {
         this.fileService = fileService;
+        this.ingestionService = ingestionService;
     }
     
+    // Parsing runs in the background; poll /jobs/{jobId} until the job is COMPLETED or FAILED
     @PostMapping("/select")
-    public ResponseEntity<Map<String, Object>> selectFolder(@RequestBody FileUploadRequest request) {
-        Map<String, Object> result = fileService.selectFolder(request.getPath());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<IngestionJobResponse> selectFolder(@RequestBody FileUploadRequest request) {
+        IngestionJobResponse job = ingestionService.submitFolder(request.getPath());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
     }
     
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Object>> uploadFiles(
+    public ResponseEntity<IngestionJobResponse> uploadFiles(
             @RequestParam("openFile") MultipartFile openFile,
             @RequestParam("releaseFile") MultipartFile releaseFile) {
-        Map<String, Object> result = fileService.uploadFiles(openFile, releaseFile);
-        return ResponseEntity.ok(result);
+        IngestionJobResponse job = ingestionService.submitUpload(openFile, releaseFile);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJobResponse> getJob(@PathVariable String jobId) {
+        return ingestionService.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/validate")
@@ -1,26 +1,69 @@
 package com.app.dashboard.visualize_dashboard.controller;
 
+import com.app.dashboard.visualize_dashboard.model.dto.BatchPreviewRequest;
+import com.app.dashboard.visualize_dashboard.model.dto.BatchPreviewResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.ColumnarRows;
 import com.app.dashboard.visualize_dashboard.model.dto.WidgetConfig;
 import com.app.dashboard.visualize_dashboard.model.dto.WidgetPreviewResponse;
+import com.app.dashboard.visualize_dashboard.service.DashboardService;
 import com.app.dashboard.visualize_dashboard.service.WidgetService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/widgets")
 @CrossOrigin(origins = "*")
 public class WidgetController {
     
     private final WidgetService widgetService;
+    private final DashboardService dashboardService;
     
-    public WidgetController(WidgetService widgetService) {
+    public WidgetController(WidgetService widgetService, DashboardService dashboardService) {
         this.widgetService = widgetService;
+        this.dashboardService = dashboardService;
     }
     
     @PostMapping("/preview")
-    public ResponseEntity<WidgetPreviewResponse> previewWidget(@RequestBody WidgetConfig config) {
-        WidgetPreviewResponse response = widgetService.previewWidget(config);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<WidgetPreviewResponse> previewWidget(
+            @RequestBody WidgetConfig config,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.respond(ifNoneMatch, widgetService.previewKey(config, false),
+            () -> widgetService.previewWidget(config));
+    }
+    
+    @PostMapping(value = "/preview", produces = {ColumnarRows.MEDIA_TYPE, ColumnarRows.CBOR_MEDIA_TYPE})
+    public ResponseEntity<WidgetPreviewResponse> previewWidgetColumnar(
+            @RequestBody WidgetConfig config,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.respond(ifNoneMatch, widgetService.previewKey(config, true),
+            () -> widgetService.previewWidgetColumnar(config));
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<BatchPreviewResponse> previewBatch(
+            @RequestBody BatchPreviewRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        List<WidgetConfig> widgets = request.getDashboardId() != null && !request.getDashboardId().isEmpty()
+            ? dashboardWidgets(request.getDashboardId())
+            : request.getWidgets() != null ? request.getWidgets() : List.of();
+        return ConditionalResponses.respond(ifNoneMatch, widgetService.batchKey(widgets),
+            () -> widgetService.previewBatch(widgets));
+    }
+    
+    // Number widgets are rendered ungrouped, as the dashboard page requests them
+    private List<WidgetConfig> dashboardWidgets(String dashboardId) {
+        List<WidgetConfig> widgets = dashboardService.getDashboard(dashboardId).getWidgets();
+        if (widgets == null) {
+            return List.of();
+        }
+        for (WidgetConfig widget : widgets) {
+            if ("number".equals(widget.getType())) {
+                widget.setGroupBy(List.of());
+            }
+        }
+        return widgets;
     }
 }
-
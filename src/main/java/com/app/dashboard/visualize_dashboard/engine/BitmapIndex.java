@@ -0,0 +1,151 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Value-to-rows index for a low-cardinality column, built once when a file is loaded. Frequent values
+ * keep a dense bitmap; rare values keep a sorted row array, which is smaller below one row in 32.
+ */
+public final class BitmapIndex {
+
+    private static final int SPARSE_RATIO = 32;
+
+    private final int rowCount;
+    private final String[] values;
+    private final int[] counts;
+    private final RowSelection[] denseRows;
+    private final int[][] sparseRows;
+    private final List<String> sortedValues;
+
+    private BitmapIndex(int rowCount, String[] values, int[] counts, RowSelection[] denseRows, int[][] sparseRows) {
+        this.rowCount = rowCount;
+        this.values = values;
+        this.counts = counts;
+        this.denseRows = denseRows;
+        this.sparseRows = sparseRows;
+        List<String> sorted = new ArrayList<>(Arrays.asList(values));
+        Collections.sort(sorted);
+        this.sortedValues = Collections.unmodifiableList(sorted);
+    }
+
+    // Indexes every column of the table with at most maxCardinality distinct values
+    public static Map<Column, BitmapIndex> buildAll(DataTable table, int maxCardinality) {
+        Map<Column, BitmapIndex> indexes = new IdentityHashMap<>();
+        if (maxCardinality <= 0) {
+            return indexes;
+        }
+        for (Column column : table.getColumns()) {
+            BitmapIndex index = build(column, table.getRowCount(), maxCardinality);
+            if (index != null) {
+                indexes.put(column, index);
+            }
+        }
+        return indexes;
+    }
+
+    // Returns null when the column has more than maxCardinality distinct values
+    public static BitmapIndex build(Column column, int rowCount, int maxCardinality) {
+        int[] ids;
+        String[] values;
+        if (column instanceof StringColumn stringColumn) {
+            if (stringColumn.getCardinality() > maxCardinality) {
+                return null;
+            }
+            ids = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                ids[row] = stringColumn.getCode(row);
+            }
+            values = new String[stringColumn.getCardinality()];
+            for (int code = 0; code < values.length; code++) {
+                values[code] = stringColumn.getDictionaryValue(code);
+            }
+        } else {
+            ids = new int[rowCount];
+            Map<String, Integer> idsByValue = new HashMap<>();
+            List<String> distinct = new ArrayList<>();
+            for (int row = 0; row < rowCount; row++) {
+                String value = column.getString(row);
+                Integer id = idsByValue.get(value);
+                if (id == null) {
+                    if (distinct.size() == maxCardinality) {
+                        return null;
+                    }
+                    id = distinct.size();
+                    distinct.add(value);
+                    idsByValue.put(value, id);
+                }
+                ids[row] = id;
+            }
+            values = distinct.toArray(new String[0]);
+        }
+
+        int[] counts = new int[values.length];
+        for (int row = 0; row < rowCount; row++) {
+            counts[ids[row]]++;
+        }
+        RowSelection[] denseRows = new RowSelection[values.length];
+        int[][] sparseRows = new int[values.length][];
+        for (int id = 0; id < values.length; id++) {
+            if ((long) counts[id] * SPARSE_RATIO > rowCount) {
+                denseRows[id] = RowSelection.none(rowCount);
+            } else {
+                sparseRows[id] = new int[counts[id]];
+            }
+        }
+        int[] fill = new int[values.length];
+        for (int row = 0; row < rowCount; row++) {
+            int id = ids[row];
+            if (denseRows[id] != null) {
+                denseRows[id].set(row);
+            } else {
+                sparseRows[id][fill[id]++] = row;
+            }
+        }
+        return new BitmapIndex(rowCount, values, counts, denseRows, sparseRows);
+    }
+
+    public int getCardinality() {
+        return values.length;
+    }
+
+    public String getValue(int id) {
+        return values[id];
+    }
+
+    public int getCount(int id) {
+        return counts[id];
+    }
+
+    public List<String> getSortedValues() {
+        return sortedValues;
+    }
+
+    // Union of the rows of every indexed value accepted by valueTest
+    public RowSelection select(Predicate<String> valueTest) {
+        RowSelection selection = RowSelection.none(rowCount);
+        for (int id = 0; id < values.length; id++) {
+            if (!valueTest.test(values[id])) {
+                continue;
+            }
+            if (denseRows[id] != null) {
+                selection.or(denseRows[id]);
+            } else {
+                for (int row : sparseRows[id]) {
+                    selection.set(row);
+                }
+            }
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,110 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Runs row-range operators in parallel on a dedicated, bounded fork/join pool. The row range is
+ * split into chunks, each chunk produces a partial result with its own accumulators, and partials
+ * are merged pairwise in chunk order, so order-sensitive results (first-appearance group order,
+ * invalid row lists) come out exactly as a sequential pass would produce them. Inputs below the
+ * row threshold run on the calling thread.
+ *
+ * <p>Chunk boundaries are multiples of 64 rows, so chunks may set bits of one shared
+ * {@link RowSelection} concurrently without touching the same word.
+ */
+public final class ChunkedExecutor {
+
+    public static final ChunkedExecutor SEQUENTIAL = new ChunkedExecutor(1, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private static final int ALIGNMENT = 64;
+
+    private final ForkJoinPool pool;
+    private final int minRows;
+    private final int chunkRows;
+
+    public ChunkedExecutor(int parallelism, int minRows, int chunkRows) {
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism, ChunkedExecutor::newWorker, null, false) : null;
+        this.minRows = Math.max(0, minRows);
+        this.chunkRows = (int) Math.min(Integer.MAX_VALUE & -ALIGNMENT,
+            (Math.max(1L, chunkRows) + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT);
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("aggregate-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    /**
+     * Computes one partial per chunk of [0, rowCount) and merges them in chunk order.
+     *
+     * @param merge combines the partial of an earlier range (left) with the next one (right); may
+     *              update and return left
+     */
+    public <P> P execute(int rowCount, RangeFunction<P> function, BinaryOperator<P> merge) {
+        if (!isParallel(rowCount)) {
+            return function.apply(0, rowCount);
+        }
+        int chunks = (int) ((rowCount + (long) chunkRows - 1) / chunkRows);
+        return pool.invoke(new ChunkTask<>(function, merge, rowCount, chunkRows, 0, chunks));
+    }
+
+    public boolean isParallel(int rowCount) {
+        return pool != null && rowCount >= minRows && rowCount > chunkRows;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public int getParallelism() {
+        return pool != null ? pool.getParallelism() : 1;
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface RangeFunction<P> {
+        // Partial result over rows [fromRow, toRow)
+        P apply(int fromRow, int toRow);
+    }
+
+    private static final class ChunkTask<P> extends RecursiveTask<P> {
+        private final RangeFunction<P> function;
+        private final BinaryOperator<P> merge;
+        private final int rowCount;
+        private final int chunkRows;
+        private final int firstChunk;
+        private final int endChunk;
+
+        ChunkTask(RangeFunction<P> function, BinaryOperator<P> merge, int rowCount, int chunkRows,
+                  int firstChunk, int endChunk) {
+            this.function = function;
+            this.merge = merge;
+            this.rowCount = rowCount;
+            this.chunkRows = chunkRows;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected P compute() {
+            if (endChunk - firstChunk == 1) {
+                int from = firstChunk * chunkRows;
+                return function.apply(from, (int) Math.min(rowCount, (long) from + chunkRows));
+            }
+            int middle = (firstChunk + endChunk) >>> 1;
+            ChunkTask<P> right = new ChunkTask<>(function, merge, rowCount, chunkRows, middle, endChunk);
+            right.fork();
+            P left = new ChunkTask<>(function, merge, rowCount, chunkRows, firstChunk, middle).compute();
+            return merge.apply(left, right.join());
+        }
+    }
+}
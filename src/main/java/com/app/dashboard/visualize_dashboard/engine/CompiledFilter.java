@@ -0,0 +1,317 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.ColumnType;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DoubleColumn;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/**
+ * Request filters compiled once against a table. Supported filter values per column:
+ * <ul>
+ *   <li>a single value or a list of values - case-insensitive equality / IN-list</li>
+ *   <li>{@code {"min": .., "max": ..}} - inclusive numeric range, either bound optional</li>
+ *   <li>{@code {"from": .., "to": ..}} - inclusive date range, either bound optional</li>
+ * </ul>
+ * Each filter yields a {@link RowSelection}; multiple filters are intersected. Predicates that
+ * scan rows fill one shared selection chunk by chunk when given a parallel {@link ChunkedExecutor}.
+ */
+public final class CompiledFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompiledFilter.class);
+
+    private final int rowCount;
+    private final List<ColumnPredicate> predicates;
+    private final boolean matchesNothing;
+
+    private CompiledFilter(int rowCount, List<ColumnPredicate> predicates, boolean matchesNothing) {
+        this.rowCount = rowCount;
+        this.predicates = predicates;
+        this.matchesNothing = matchesNothing;
+    }
+
+    public static CompiledFilter compile(DataTable table, Map<String, Object> filters) {
+        List<ColumnPredicate> predicates = new ArrayList<>();
+        if (filters != null) {
+            for (Map.Entry<String, Object> filter : filters.entrySet()) {
+                Object filterValue = filter.getValue();
+                if (!isActive(filterValue)) {
+                    continue; // Skip empty filters and open ranges
+                }
+                Column column = table.findColumnIgnoreCase(filter.getKey());
+                if (column == null) {
+                    logger.debug("Filter column '{}' not found in columns {}", filter.getKey(), table.getColumnNames());
+                    return new CompiledFilter(table.getRowCount(), List.of(), true); // No row can match a filter on a missing column
+                }
+                predicates.add(compilePredicate(column, table.getIndex(column), filterValue));
+            }
+        }
+        return new CompiledFilter(table.getRowCount(), predicates, false);
+    }
+
+    public RowSelection evaluate() {
+        return evaluate(ChunkedExecutor.SEQUENTIAL);
+    }
+
+    public RowSelection evaluate(ChunkedExecutor executor) {
+        if (matchesNothing) {
+            return RowSelection.none(rowCount);
+        }
+        RowSelection selection = null;
+        for (ColumnPredicate predicate : predicates) {
+            RowSelection matches = predicate.select(rowCount, executor);
+            selection = selection == null ? matches : selection.and(matches);
+        }
+        return selection != null ? selection : RowSelection.all(rowCount);
+    }
+
+    // False for empty filter values and open ranges, which constrain nothing
+    public static boolean isActive(Object filterValue) {
+        if (filterValue == null || filterValue.toString().trim().isEmpty()) {
+            return false;
+        }
+        return !(filterValue instanceof Map<?, ?> range && isOpenRange(range));
+    }
+
+    // Which dictionary codes of a string column pass the filter, with the semantics of a compiled filter
+    public static boolean[] matchingCodes(StringColumn column, Object filterValue) {
+        return DictionaryPredicate.of(column, valueTest(filterValue)).matchingCodes;
+    }
+
+    private static ColumnPredicate compilePredicate(Column column, BitmapIndex index, Object filterValue) {
+        if (filterValue instanceof Map<?, ?> range) {
+            if (range.containsKey("from") || range.containsKey("to")) {
+                Predicate<String> inRange = valueTest(filterValue);
+                if (index != null) {
+                    return new IndexPredicate(index, inRange);
+                }
+                return column instanceof StringColumn stringColumn
+                    ? DictionaryPredicate.of(stringColumn, inRange)
+                    : new StringPredicate(column, inRange);
+            }
+            if (column instanceof StringColumn stringColumn) {
+                return DictionaryPredicate.of(stringColumn, valueTest(filterValue));
+            }
+            double min = parseNumericBound(range.get("min"), Double.NEGATIVE_INFINITY);
+            double max = parseNumericBound(range.get("max"), Double.POSITIVE_INFINITY);
+            return new NumericPredicate(column, number -> number >= min && number <= max, false);
+        }
+
+        Set<String> allowed = allowedValues(filterValue);
+        if (index != null) {
+            return new IndexPredicate(index, valueTest(filterValue));
+        }
+        if (column instanceof StringColumn stringColumn) {
+            return DictionaryPredicate.of(stringColumn, valueTest(filterValue));
+        }
+        // Numeric columns: keep only filter values that render exactly like a cell of this column
+        Set<Double> numbers = new HashSet<>();
+        for (String value : allowed) {
+            Double number = canonicalNumber(column.getType(), value);
+            if (number != null) {
+                numbers.add(number);
+            }
+        }
+        return new NumericPredicate(column, numbers::contains, allowed.contains(""));
+    }
+
+    // Test applied to a cell's display string: date range, numeric range or case-insensitive IN-list
+    private static Predicate<String> valueTest(Object filterValue) {
+        if (filterValue instanceof Map<?, ?> range) {
+            if (range.containsKey("from") || range.containsKey("to")) {
+                LocalDate from = parseDateBound(range.get("from"));
+                LocalDate to = parseDateBound(range.get("to"));
+                return value -> {
+                    LocalDate date = DateParser.parse(value);
+                    return date != null && (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+                };
+            }
+            double min = parseNumericBound(range.get("min"), Double.NEGATIVE_INFINITY);
+            double max = parseNumericBound(range.get("max"), Double.POSITIVE_INFINITY);
+            return value -> {
+                if (value.isEmpty()) return false;
+                double number = StringColumn.parseNumber(value);
+                return number >= min && number <= max;
+            };
+        }
+        Set<String> allowed = allowedValues(filterValue);
+        return value -> allowed.contains(value.toLowerCase(Locale.ROOT));
+    }
+
+    private static Set<String> allowedValues(Object filterValue) {
+        Set<String> allowed = new HashSet<>();
+        if (filterValue instanceof List<?> values) {
+            for (Object value : values) {
+                if (value != null) {
+                    allowed.add(value.toString().toLowerCase(Locale.ROOT));
+                }
+            }
+        } else {
+            allowed.add(filterValue.toString().toLowerCase(Locale.ROOT));
+        }
+        return allowed;
+    }
+
+    private static Double canonicalNumber(ColumnType type, String value) {
+        try {
+            if (type == ColumnType.LONG) {
+                long number = Long.parseLong(value);
+                return Long.toString(number).equals(value) ? (double) number : null;
+            }
+            double number = Double.parseDouble(value);
+            return DoubleColumn.format(number).equals(value) ? number : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isOpenRange(Map<?, ?> range) {
+        for (String bound : List.of("min", "max", "from", "to")) {
+            Object value = range.get(bound);
+            if (value != null && !value.toString().trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double parseNumericBound(Object bound, double defaultValue) {
+        if (bound == null || bound.toString().trim().isEmpty()) {
+            return defaultValue;
+        }
+        if (bound instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.parseDouble(bound.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid numeric filter bound: " + bound);
+        }
+    }
+
+    private static LocalDate parseDateBound(Object bound) {
+        if (bound == null || bound.toString().trim().isEmpty()) {
+            return null;
+        }
+        LocalDate date = DateParser.parse(bound.toString());
+        if (date == null) {
+            throw new IllegalArgumentException("Invalid date filter bound: " + bound);
+        }
+        return date;
+    }
+
+    private interface ColumnPredicate {
+        RowSelection select(int rowCount, ChunkedExecutor executor);
+    }
+
+    // Base of the predicates that test every row; chunks set disjoint words of the same selection
+    private abstract static class ScanPredicate implements ColumnPredicate {
+        @Override
+        public RowSelection select(int rowCount, ChunkedExecutor executor) {
+            RowSelection selection = RowSelection.none(rowCount);
+            executor.execute(rowCount, (fromRow, toRow) -> {
+                scan(selection, fromRow, toRow);
+                return selection;
+            }, (left, right) -> left);
+            return selection;
+        }
+
+        abstract void scan(RowSelection selection, int fromRow, int toRow);
+    }
+
+    // Unions the precomputed row sets of the matching values; no row scan at all
+    private static final class IndexPredicate implements ColumnPredicate {
+        private final BitmapIndex index;
+        private final Predicate<String> valueTest;
+
+        IndexPredicate(BitmapIndex index, Predicate<String> valueTest) {
+            this.index = index;
+            this.valueTest = valueTest;
+        }
+
+        @Override
+        public RowSelection select(int rowCount, ChunkedExecutor executor) {
+            return index.select(valueTest);
+        }
+    }
+
+    // Tests each distinct dictionary value once, then scans the code array
+    private static final class DictionaryPredicate extends ScanPredicate {
+        private final StringColumn column;
+        private final boolean[] matchingCodes;
+
+        private DictionaryPredicate(StringColumn column, boolean[] matchingCodes) {
+            this.column = column;
+            this.matchingCodes = matchingCodes;
+        }
+
+        static DictionaryPredicate of(StringColumn column, Predicate<String> valueTest) {
+            boolean[] matchingCodes = new boolean[column.getCardinality()];
+            for (int code = 0; code < matchingCodes.length; code++) {
+                matchingCodes[code] = valueTest.test(column.getDictionaryValue(code));
+            }
+            return new DictionaryPredicate(column, matchingCodes);
+        }
+
+        @Override
+        void scan(RowSelection selection, int fromRow, int toRow) {
+            for (int row = fromRow; row < toRow; row++) {
+                if (matchingCodes[column.getCode(row)]) {
+                    selection.set(row);
+                }
+            }
+        }
+    }
+
+    private static final class NumericPredicate extends ScanPredicate {
+        private final Column column;
+        private final DoublePredicate valueTest;
+        private final boolean matchBlank;
+
+        NumericPredicate(Column column, DoublePredicate valueTest, boolean matchBlank) {
+            this.column = column;
+            this.valueTest = valueTest;
+            this.matchBlank = matchBlank;
+        }
+
+        @Override
+        void scan(RowSelection selection, int fromRow, int toRow) {
+            for (int row = fromRow; row < toRow; row++) {
+                if (column.isBlank(row) ? matchBlank : valueTest.test(column.getDouble(row))) {
+                    selection.set(row);
+                }
+            }
+        }
+    }
+
+    private static final class StringPredicate extends ScanPredicate {
+        private final Column column;
+        private final Predicate<String> valueTest;
+
+        StringPredicate(Column column, Predicate<String> valueTest) {
+            this.column = column;
+            this.valueTest = valueTest;
+        }
+
+        @Override
+        void scan(RowSelection selection, int fromRow, int toRow) {
+            for (int row = fromRow; row < toRow; row++) {
+                if (valueTest.test(column.getString(row))) {
+                    selection.set(row);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row-level difference between the loaded table and a newly parsed one. Rows are matched on the
+ * configured key columns when they exist and are unique in both tables, otherwise on a hash of
+ * the whole row (which can report inserts and deletes but not updates).
+ */
+public final class DatasetDelta {
+
+    private final boolean schemaChanged;
+    private final boolean keyed;
+    private final int inserted;
+    private final int updated;
+    private final int deleted;
+    // Set when rows line up one-to-one by position; changedColumns is only meaningful then
+    private final boolean aligned;
+    private final boolean[] changedColumns;
+
+    private DatasetDelta(boolean schemaChanged, boolean keyed, int inserted, int updated, int deleted,
+                         boolean aligned, boolean[] changedColumns) {
+        this.schemaChanged = schemaChanged;
+        this.keyed = keyed;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.aligned = aligned;
+        this.changedColumns = changedColumns;
+    }
+
+    public static DatasetDelta compute(DataTable current, DataTable incoming, List<String> keyColumns) {
+        if (!current.getColumnNames().equals(incoming.getColumnNames())) {
+            return new DatasetDelta(true, false, incoming.getRowCount(), 0, current.getRowCount(), false, null);
+        }
+        int[] currentKeys = keyColumnIndexes(current, keyColumns);
+        if (currentKeys != null) {
+            DatasetDelta keyedDelta = computeKeyed(current, incoming, currentKeys);
+            if (keyedDelta != null) {
+                return keyedDelta;
+            }
+        }
+        return computeByContent(current, incoming);
+    }
+
+    // Null when any key column is missing; tables share a schema, so indexes apply to both
+    private static int[] keyColumnIndexes(DataTable table, List<String> keyColumns) {
+        if (keyColumns == null || keyColumns.isEmpty()) {
+            return null;
+        }
+        int[] indexes = new int[keyColumns.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = table.getColumnIndex(keyColumns.get(i));
+            if (indexes[i] < 0) {
+                return null;
+            }
+        }
+        return indexes;
+    }
+
+    // Null when a key repeats in either table
+    private static DatasetDelta computeKeyed(DataTable current, DataTable incoming, int[] keyIndexes) {
+        Map<String, Integer> currentRows = new HashMap<>(current.getRowCount() * 2);
+        for (int row = 0; row < current.getRowCount(); row++) {
+            if (currentRows.put(rowKey(current, row, keyIndexes), row) != null) {
+                return null;
+            }
+        }
+
+        int columnCount = current.getColumnNames().size();
+        boolean[] changedColumns = new boolean[columnCount];
+        boolean aligned = current.getRowCount() == incoming.getRowCount();
+        boolean[] matched = new boolean[current.getRowCount()];
+        int matchedCount = 0;
+        int inserted = 0;
+        int updated = 0;
+        for (int row = 0; row < incoming.getRowCount(); row++) {
+            Integer currentRow = currentRows.get(rowKey(incoming, row, keyIndexes));
+            if (currentRow == null || matched[currentRow]) {
+                if (currentRow != null) return null; // Key repeats in the incoming table
+                inserted++;
+                aligned = false;
+                continue;
+            }
+            matched[currentRow] = true;
+            matchedCount++;
+            aligned &= currentRow == row;
+            boolean rowChanged = false;
+            for (int column = 0; column < columnCount; column++) {
+                if (!current.getColumn(column).getString(currentRow).equals(incoming.getColumn(column).getString(row))) {
+                    changedColumns[column] = true;
+                    rowChanged = true;
+                }
+            }
+            if (rowChanged) updated++;
+        }
+        int deleted = current.getRowCount() - matchedCount;
+        return new DatasetDelta(false, true, inserted, updated, deleted, aligned, changedColumns);
+    }
+
+    private static DatasetDelta computeByContent(DataTable current, DataTable incoming) {
+        long[] currentHashes = new long[current.getRowCount()];
+        Map<Long, Integer> remaining = new HashMap<>(current.getRowCount() * 2);
+        for (int row = 0; row < current.getRowCount(); row++) {
+            currentHashes[row] = contentHash(current, row);
+            remaining.merge(currentHashes[row], 1, Integer::sum);
+        }
+        boolean aligned = current.getRowCount() == incoming.getRowCount();
+        int inserted = 0;
+        int matched = 0;
+        for (int row = 0; row < incoming.getRowCount(); row++) {
+            long hash = contentHash(incoming, row);
+            // Equal hashes only count as the same row by position once the cells confirm it
+            aligned = aligned && currentHashes[row] == hash && sameRow(current, incoming, row);
+            Integer left = remaining.computeIfPresent(hash, (key, count) -> count - 1);
+            if (left == null || left < 0) {
+                inserted++;
+            } else {
+                matched++;
+            }
+        }
+        int deleted = current.getRowCount() - matched;
+        // Only an identical table lines up by position here, so no column is reported as changed
+        return new DatasetDelta(false, false, inserted, 0, deleted, aligned, new boolean[current.getColumnNames().size()]);
+    }
+
+    private static boolean sameRow(DataTable current, DataTable incoming, int row) {
+        for (int column = 0; column < current.getColumns().size(); column++) {
+            if (!current.getColumn(column).getString(row).equals(incoming.getColumn(column).getString(row))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Each value is prefixed with its length, so no choice of cell contents makes two keys equal
+    private static String rowKey(DataTable table, int row, int[] keyIndexes) {
+        if (keyIndexes.length == 1) {
+            return table.getColumn(keyIndexes[0]).getString(row);
+        }
+        StringBuilder key = new StringBuilder();
+        for (int index : keyIndexes) {
+            String value = table.getColumn(index).getString(row);
+            key.append(value.length()).append(':').append(value);
+        }
+        return key.toString();
+    }
+
+    // 64-bit FNV-1a over every cell of the row, each preceded by its length
+    private static long contentHash(DataTable table, int row) {
+        long hash = 0xcbf29ce484222325L;
+        for (Column column : table.getColumns()) {
+            String value = column.getString(row);
+            hash = (hash ^ value.length()) * 0x100000001b3L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    public boolean isSchemaChanged() {
+        return schemaChanged;
+    }
+
+    public boolean isKeyed() {
+        return keyed;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    // True only when the incoming table holds the same rows in the same order
+    public boolean isEmpty() {
+        return aligned && inserted == 0 && updated == 0 && deleted == 0;
+    }
+
+    // Rows line up one-to-one by position (no inserts, deletes or reordering)
+    public boolean isAligned() {
+        return aligned;
+    }
+
+    // Whether any row changed in the column at this position; false for every column unless aligned
+    public boolean isColumnChanged(int column) {
+        return changedColumns != null && changedColumns[column];
+    }
+}
@@ -0,0 +1,108 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses the date formats that appear in the uploaded sheets, including raw Excel serial numbers.
+ * An instance remembers the format that matched last and tries it first, so parsing a column of
+ * uniformly formatted dates costs a single match per value. Instances are not thread-safe.
+ */
+public final class DateParser {
+
+    // Epoch-day marker for blank or unparseable dates
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
+        DateTimeFormatter.ofPattern("M/d/yy"),
+        DateTimeFormatter.ofPattern("MM/dd/yy"),
+        DateTimeFormatter.ofPattern("M/d/yyyy"),
+        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+        DateTimeFormatter.ofPattern("d-M-yyyy"),
+        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+        DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH),
+        DateTimeFormatter.ofPattern("d-MMM-yy", Locale.ENGLISH)
+    );
+
+    private int preferredFormat = -1;
+
+    public static LocalDate parse(String dateStr) {
+        return new DateParser().parseDate(dateStr);
+    }
+
+    public int toEpochDay(String dateStr) {
+        LocalDate date = parseDate(dateStr);
+        return date != null ? (int) date.toEpochDay() : NO_DATE;
+    }
+
+    public LocalDate parseDate(String dateStr) {
+        if (dateStr == null || dateStr.trim().isEmpty()) {
+            return null;
+        }
+        String trimmedDateStr = dateStr.trim();
+
+        // 1. Numeric values are Excel serial dates
+        if (isNumeric(trimmedDateStr)) {
+            try {
+                double excelDate = Double.parseDouble(trimmedDateStr);
+                java.util.Date utilDate = DateUtil.getJavaDate(excelDate);
+                return utilDate != null ? utilDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate() : null;
+            } catch (NumberFormatException e) {
+                // Not a number after all, fall through to string parsing
+            }
+        }
+
+        // 2. The format that matched last, then the rest in order
+        if (preferredFormat >= 0) {
+            LocalDate date = tryFormat(trimmedDateStr, DATE_FORMATTERS.get(preferredFormat));
+            if (date != null) {
+                return date;
+            }
+        }
+        for (int i = 0; i < DATE_FORMATTERS.size(); i++) {
+            if (i == preferredFormat) continue;
+            LocalDate date = tryFormat(trimmedDateStr, DATE_FORMATTERS.get(i));
+            if (date != null) {
+                preferredFormat = i;
+                return date;
+            }
+        }
+        return null; // Return null if all formats fail
+    }
+
+    // Matches without throwing; only a text that fully matches the pattern is resolved
+    private static LocalDate tryFormat(String text, DateTimeFormatter formatter) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor unresolved = formatter.parseUnresolved(text, position);
+        if (unresolved == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+            return null;
+        }
+        try {
+            return LocalDate.from(formatter.parse(text));
+        } catch (DateTimeException e) {
+            return null; // Matched the pattern but is not a real date, e.g. 2/30/24
+        }
+    }
+
+    private static boolean isNumeric(String value) {
+        boolean digit = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,364 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Single-pass group-by over dictionary codes. Each group column is mapped to int codes, the codes
+ * are combined into a mixed-radix long key, and count/sum are accumulated into primitive arrays
+ * indexed by a dense group slot. Groups are reported in order of first appearance. Several value
+ * functions can be summed in the same pass, so widgets sharing filters and grouping share one scan.
+ * Large selections are aggregated per row chunk on a {@link ChunkedExecutor} and the partial groups
+ * merged by key in chunk order, which keeps the first-appearance order.
+ */
+public final class GroupByEngine {
+
+    // Composite key spaces up to this size are addressed directly instead of hashed
+    private static final long DIRECT_ADDRESS_LIMIT = 1 << 16;
+
+    private GroupByEngine() {
+    }
+
+    /**
+     * @param missingValue label used when a group column does not exist in the table
+     * @param valueFunction per-row value to sum, or null to only count
+     */
+    public static GroupedResult aggregate(DataTable table, RowSelection rows, List<String> groupBy,
+                                          String missingValue, IntToDoubleFunction valueFunction) {
+        return aggregate(table, rows, groupBy, missingValue, valueFunction, ChunkedExecutor.SEQUENTIAL);
+    }
+
+    public static GroupedResult aggregate(DataTable table, RowSelection rows, List<String> groupBy,
+                                          String missingValue, IntToDoubleFunction valueFunction,
+                                          ChunkedExecutor executor) {
+        IntToDoubleFunction[] valueFunctions = valueFunction != null
+            ? new IntToDoubleFunction[] {valueFunction}
+            : new IntToDoubleFunction[0];
+        return aggregate(table, rows, groupBy, missingValue, valueFunctions, executor);
+    }
+
+    /**
+     * @param valueFunctions per-row values to sum, each read back with {@link GroupedResult#getSum(int, int)}
+     */
+    public static GroupedResult aggregate(DataTable table, RowSelection rows, List<String> groupBy,
+                                          String missingValue, IntToDoubleFunction[] valueFunctions) {
+        return aggregate(table, rows, groupBy, missingValue, valueFunctions, ChunkedExecutor.SEQUENTIAL);
+    }
+
+    /**
+     * @param executor runs the scan in row chunks when the selection is large enough; value
+     *                 functions must then be safe to call from several threads
+     */
+    public static GroupedResult aggregate(DataTable table, RowSelection rows, List<String> groupBy,
+                                          String missingValue, IntToDoubleFunction[] valueFunctions,
+                                          ChunkedExecutor executor) {
+        KeyEncoder[] encoders = new KeyEncoder[groupBy.size()];
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i] = KeyEncoder.of(table.getColumn(groupBy.get(i)), rows, missingValue);
+        }
+
+        long keySpace = keySpace(encoders);
+        if (keySpace >= 0 && executor.isParallel(rows.getRowCount())) {
+            return executor.execute(rows.getRowCount(),
+                (fromRow, toRow) -> aggregateRange(encoders, valueFunctions, rows, fromRow, toRow),
+                GroupedResult::mergeFrom);
+        }
+        GroupedResult result = new GroupedResult(encoders, valueFunctions, Math.min(rows.getRowCount(), 1024));
+        if (keySpace < 0) {
+            aggregatePairwise(encoders, rows, result);
+        } else if (keySpace <= DIRECT_ADDRESS_LIMIT) {
+            int[] slotByKey = new int[(int) keySpace];
+            Arrays.fill(slotByKey, -1);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                int key = (int) compositeKey(encoders, row);
+                int slot = slotByKey[key];
+                if (slot < 0) {
+                    slot = result.addGroup(row);
+                    slotByKey[key] = slot;
+                }
+                result.accumulate(slot, row);
+            }
+        } else {
+            LongIntHashMap slotByKey = new LongIntHashMap(Math.min(rows.getRowCount(), 1 << 16));
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                long key = compositeKey(encoders, row);
+                int slot = slotByKey.get(key);
+                if (slot < 0) {
+                    slot = slotByKey.putIfAbsent(key, result.addGroup(row));
+                }
+                result.accumulate(slot, row);
+            }
+        }
+        return result;
+    }
+
+    // Partial groups of one row chunk, keyed so that partials can be merged
+    private static GroupedResult aggregateRange(KeyEncoder[] encoders, IntToDoubleFunction[] valueFunctions,
+                                                RowSelection rows, int fromRow, int toRow) {
+        GroupedResult partial = new GroupedResult(encoders, valueFunctions, 1024);
+        partial.keys = new long[partial.firstRows.length];
+        partial.slotByKey = new LongIntHashMap(1024);
+        for (int row = rows.nextSetBit(fromRow); row >= 0 && row < toRow; row = rows.nextSetBit(row + 1)) {
+            long key = compositeKey(encoders, row);
+            int slot = partial.slotByKey.get(key);
+            if (slot < 0) {
+                slot = partial.addGroup(row, key);
+            }
+            partial.accumulate(slot, row);
+        }
+        return partial;
+    }
+
+    // Product of the column cardinalities, or -1 if it does not fit in a long
+    private static long keySpace(KeyEncoder[] encoders) {
+        long space = 1;
+        try {
+            for (KeyEncoder encoder : encoders) {
+                space = Math.multiplyExact(space, Math.max(1, encoder.cardinality()));
+            }
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+        return space;
+    }
+
+    private static long compositeKey(KeyEncoder[] encoders, int row) {
+        long key = 0;
+        for (KeyEncoder encoder : encoders) {
+            key = key * encoder.cardinality() + encoder.code(row);
+        }
+        return key;
+    }
+
+    // Fallback for very wide key spaces: fold one column at a time into a dense group id
+    private static void aggregatePairwise(KeyEncoder[] encoders, RowSelection rows, GroupedResult result) {
+        LongIntHashMap[] partials = new LongIntHashMap[encoders.length];
+        int[] partialCounts = new int[encoders.length];
+        for (int i = 1; i < encoders.length; i++) {
+            partials[i] = new LongIntHashMap(Math.min(rows.getRowCount(), 1 << 16));
+        }
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            long id = encoders[0].code(row);
+            for (int i = 1; i < encoders.length; i++) {
+                long pairKey = id * encoders[i].cardinality() + encoders[i].code(row);
+                int partialId = partials[i].putIfAbsent(pairKey, partialCounts[i]);
+                if (partialId == partialCounts[i]) {
+                    partialCounts[i]++;
+                }
+                id = partialId;
+            }
+            // The last fold yields dense ids in first-seen order, matching result slots
+            int slot = (int) id;
+            if (slot == result.getGroupCount()) {
+                result.addGroup(row);
+            }
+            result.accumulate(slot, row);
+        }
+    }
+
+    /**
+     * Maps one group column to dense int codes. String columns reuse their dictionary; other
+     * column types are encoded once over the selected rows.
+     */
+    abstract static class KeyEncoder {
+
+        abstract int code(int row);
+
+        abstract int cardinality();
+
+        abstract String label(int row);
+
+        static KeyEncoder of(Column column, RowSelection rows, String missingValue) {
+            if (column == null) {
+                return new ConstantEncoder(missingValue);
+            }
+            if (column instanceof StringColumn stringColumn) {
+                return new DictionaryEncoder(stringColumn);
+            }
+            return new ValueEncoder(column, rows);
+        }
+    }
+
+    private static final class ConstantEncoder extends KeyEncoder {
+        private final String value;
+
+        ConstantEncoder(String value) {
+            this.value = value;
+        }
+
+        @Override
+        int code(int row) {
+            return 0;
+        }
+
+        @Override
+        int cardinality() {
+            return 1;
+        }
+
+        @Override
+        String label(int row) {
+            return value;
+        }
+    }
+
+    private static final class DictionaryEncoder extends KeyEncoder {
+        private final StringColumn column;
+
+        DictionaryEncoder(StringColumn column) {
+            this.column = column;
+        }
+
+        @Override
+        int code(int row) {
+            return column.getCode(row);
+        }
+
+        @Override
+        int cardinality() {
+            return column.getCardinality();
+        }
+
+        @Override
+        String label(int row) {
+            return column.getString(row);
+        }
+    }
+
+    private static final class ValueEncoder extends KeyEncoder {
+        private final Column column;
+        private final int[] codes;
+        private final int cardinality;
+
+        ValueEncoder(Column column, RowSelection rows) {
+            this.column = column;
+            this.codes = new int[column.size()];
+            Map<String, Integer> codesByValue = new HashMap<>();
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                codes[row] = codesByValue.computeIfAbsent(column.getString(row), value -> codesByValue.size());
+            }
+            this.cardinality = codesByValue.size();
+        }
+
+        @Override
+        int code(int row) {
+            return codes[row];
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        String label(int row) {
+            return column.getString(row);
+        }
+    }
+
+    /**
+     * Per-group primitive accumulators. Labels are resolved from each group's first row only when asked for.
+     */
+    public static final class GroupedResult {
+        private final KeyEncoder[] encoders;
+        private final IntToDoubleFunction[] valueFunctions;
+        private int[] firstRows;
+        private long[] counts;
+        private final double[][] sums; // One accumulator array per value function
+        private int groupCount;
+        // Set on chunk partials only: the composite key of each group and the reverse lookup
+        private long[] keys;
+        private LongIntHashMap slotByKey;
+
+        GroupedResult(KeyEncoder[] encoders, IntToDoubleFunction[] valueFunctions, int initialCapacity) {
+            this.encoders = encoders;
+            this.valueFunctions = valueFunctions;
+            int capacity = Math.max(16, initialCapacity);
+            this.firstRows = new int[capacity];
+            this.counts = new long[capacity];
+            this.sums = new double[valueFunctions.length][capacity];
+        }
+
+        int addGroup(int firstRow) {
+            if (groupCount == firstRows.length) {
+                int capacity = groupCount * 2;
+                firstRows = Arrays.copyOf(firstRows, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                for (int measure = 0; measure < sums.length; measure++) {
+                    sums[measure] = Arrays.copyOf(sums[measure], capacity);
+                }
+                if (keys != null) {
+                    keys = Arrays.copyOf(keys, capacity);
+                }
+            }
+            firstRows[groupCount] = firstRow;
+            return groupCount++;
+        }
+
+        private int addGroup(int firstRow, long key) {
+            int slot = addGroup(firstRow);
+            keys[slot] = key;
+            slotByKey.putIfAbsent(key, slot);
+            return slot;
+        }
+
+        // Folds the partial of the following row chunk into this one; its new groups come after ours
+        private GroupedResult mergeFrom(GroupedResult next) {
+            for (int group = 0; group < next.groupCount; group++) {
+                long key = next.keys[group];
+                int slot = slotByKey.get(key);
+                if (slot < 0) {
+                    slot = addGroup(next.firstRows[group], key);
+                }
+                counts[slot] += next.counts[group];
+                for (int measure = 0; measure < sums.length; measure++) {
+                    sums[measure][slot] += next.sums[measure][group];
+                }
+            }
+            return this;
+        }
+
+        void accumulate(int slot, int row) {
+            counts[slot]++;
+            for (int measure = 0; measure < valueFunctions.length; measure++) {
+                sums[measure][slot] += valueFunctions[measure].applyAsDouble(row);
+            }
+        }
+
+        public int getGroupCount() {
+            return groupCount;
+        }
+
+        public long getCount(int group) {
+            return counts[group];
+        }
+
+        public double getSum(int group) {
+            return sums.length > 0 ? sums[0][group] : 0.0;
+        }
+
+        public double getSum(int group, int measure) {
+            return sums[measure][group];
+        }
+
+        public String getLabel(int group, String separator) {
+            int row = firstRows[group];
+            if (encoders.length == 1) {
+                return encoders[0].label(row);
+            }
+            List<String> parts = new ArrayList<>(encoders.length);
+            for (KeyEncoder encoder : encoders) {
+                parts.add(encoder.label(row));
+            }
+            return String.join(separator, parts);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.ColumnKind;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed count and per-measure sums for every combination of codes of a few dictionary
+ * columns (the dimensions). Cells are addressed densely by a mixed-radix key over the dimension
+ * codes, and each cell remembers its first row so groups come out in the same first-appearance
+ * order as {@link GroupByEngine}. A query whose grouping and filters only involve the dimensions
+ * is answered by folding cells, without reading any row.
+ */
+public final class RollupCube {
+
+    private final StringColumn[] dimensions;
+    private final int[] strides;
+    private final Column[] measures;
+    private final long[] counts;
+    private final int[] firstRows;
+    private final double[][] sums; // [measure][cell]
+
+    private RollupCube(StringColumn[] dimensions, int[] strides, Column[] measures,
+                       long[] counts, int[] firstRows, double[][] sums) {
+        this.dimensions = dimensions;
+        this.strides = strides;
+        this.measures = measures;
+        this.counts = counts;
+        this.firstRows = firstRows;
+        this.sums = sums;
+    }
+
+    /**
+     * Builds one cube per combination of up to maxDimensions of the named dimension columns. Names
+     * that are missing or not dictionary columns are skipped, as are combinations over maxCells
+     * cells. Every numeric, currency and percent column is a measure.
+     */
+    public static List<RollupCube> buildAll(DataTable table, List<String> dimensionNames, int maxDimensions, int maxCells) {
+        List<StringColumn> candidates = new ArrayList<>();
+        for (String name : dimensionNames) {
+            Column column = table.findColumnIgnoreCase(name.trim());
+            if (column instanceof StringColumn stringColumn && !candidates.contains(stringColumn)) {
+                candidates.add(stringColumn);
+            }
+        }
+        List<Column> measures = new ArrayList<>();
+        for (Column column : table.getColumns()) {
+            if (isMeasure(column)) {
+                measures.add(column);
+            }
+        }
+        Column[] measureArray = measures.toArray(new Column[0]);
+
+        List<RollupCube> cubes = new ArrayList<>();
+        List<StringColumn[]> combinations = new ArrayList<>();
+        combine(candidates, 0, new ArrayList<>(), Math.max(0, maxDimensions), combinations);
+        for (StringColumn[] dimensions : combinations) {
+            RollupCube cube = build(table, dimensions, measureArray, maxCells);
+            if (cube != null) {
+                cubes.add(cube);
+            }
+        }
+        return cubes;
+    }
+
+    public static boolean isMeasure(Column column) {
+        ColumnKind kind = column.getKind();
+        return kind == ColumnKind.NUMERIC || kind == ColumnKind.CURRENCY || kind == ColumnKind.PERCENT;
+    }
+
+    private static void combine(List<StringColumn> candidates, int start, List<StringColumn> current,
+                                int maxSize, List<StringColumn[]> combinations) {
+        if (!current.isEmpty()) {
+            combinations.add(current.toArray(new StringColumn[0]));
+        }
+        if (current.size() == maxSize) {
+            return;
+        }
+        for (int i = start; i < candidates.size(); i++) {
+            current.add(candidates.get(i));
+            combine(candidates, i + 1, current, maxSize, combinations);
+            current.remove(current.size() - 1);
+        }
+    }
+
+    // Null when the cell count exceeds maxCells
+    static RollupCube build(DataTable table, StringColumn[] dimensions, Column[] measures, int maxCells) {
+        int[] strides = new int[dimensions.length];
+        long cellCount = 1;
+        for (int d = dimensions.length - 1; d >= 0; d--) {
+            strides[d] = (int) Math.min(cellCount, Integer.MAX_VALUE);
+            cellCount *= Math.max(1, dimensions[d].getCardinality());
+            if (cellCount > maxCells) {
+                return null;
+            }
+        }
+
+        // Cell of each row, one dimension at a time, then one tight pass per accumulator
+        int rowCount = table.getRowCount();
+        int[] cells = new int[rowCount];
+        for (int d = 0; d < dimensions.length; d++) {
+            StringColumn dimension = dimensions[d];
+            int stride = strides[d];
+            for (int row = 0; row < rowCount; row++) {
+                cells[row] += dimension.getCode(row) * stride;
+            }
+        }
+        long[] counts = new long[(int) cellCount];
+        int[] firstRows = new int[(int) cellCount];
+        Arrays.fill(firstRows, -1);
+        for (int row = 0; row < rowCount; row++) {
+            int cell = cells[row];
+            if (counts[cell]++ == 0) {
+                firstRows[cell] = row;
+            }
+        }
+        double[][] sums = new double[measures.length][(int) cellCount];
+        for (int m = 0; m < measures.length; m++) {
+            Column measure = measures[m];
+            double[] measureSums = sums[m];
+            for (int row = 0; row < rowCount; row++) {
+                measureSums[cells[row]] += measure.getDouble(row);
+            }
+        }
+        return new RollupCube(dimensions, strides, measures, counts, firstRows, sums);
+    }
+
+    public int getCellCount() {
+        return counts.length;
+    }
+
+    // Position of the column among this cube's dimensions, or -1
+    public int dimensionIndex(Column column) {
+        for (int d = 0; d < dimensions.length; d++) {
+            if (dimensions[d] == column) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    public int getDimensionCount() {
+        return dimensions.length;
+    }
+
+    public StringColumn getDimension(int d) {
+        return dimensions[d];
+    }
+
+    // Whether the column is one of this cube's dimensions or measures
+    public boolean uses(Column column) {
+        return dimensionIndex(column) >= 0 || measureIndex(column) >= 0;
+    }
+
+    // Position of the column among this cube's measures, or -1
+    public int measureIndex(Column column) {
+        for (int m = 0; m < measures.length; m++) {
+            if (measures[m] == column) {
+                return m;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Folds the cells that pass the filters into groups.
+     *
+     * @param groupDims dimension positions to group by, in request order; empty for a single total
+     * @param allowedCodes per dimension position, the codes passing the filters, or null if unfiltered
+     * @param measure measure position to sum, or -1 to only count
+     */
+    public Groups aggregate(int[] groupDims, boolean[][] allowedCodes, int measure) {
+        int groupSpace = 1;
+        for (int d : groupDims) {
+            groupSpace *= Math.max(1, dimensions[d].getCardinality());
+        }
+        int[] slotByKey = new int[groupSpace];
+        Arrays.fill(slotByKey, -1);
+        Groups groups = new Groups(groupDims);
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (counts[cell] == 0 || !passes(cell, allowedCodes)) {
+                continue;
+            }
+            int key = 0;
+            for (int d : groupDims) {
+                key = key * Math.max(1, dimensions[d].getCardinality()) + code(cell, d);
+            }
+            int slot = slotByKey[key];
+            if (slot < 0) {
+                slot = groups.addGroup(firstRows[cell]);
+                slotByKey[key] = slot;
+            }
+            groups.accumulate(slot, counts[cell], measure >= 0 ? sums[measure][cell] : 0.0, firstRows[cell]);
+        }
+        groups.sortByFirstRow();
+        return groups;
+    }
+
+    private boolean passes(int cell, boolean[][] allowedCodes) {
+        for (int d = 0; d < allowedCodes.length; d++) {
+            if (allowedCodes[d] != null && !allowedCodes[d][code(cell, d)]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int code(int cell, int d) {
+        return (cell / strides[d]) % Math.max(1, dimensions[d].getCardinality());
+    }
+
+    /**
+     * Result of a rollup query, in the first-appearance order of the underlying rows.
+     */
+    public final class Groups {
+        private final int[] groupDims;
+        private int[] firstRows = new int[16];
+        private long[] counts = new long[16];
+        private double[] sums = new double[16];
+        private int groupCount;
+
+        private Groups(int[] groupDims) {
+            this.groupDims = groupDims;
+        }
+
+        private int addGroup(int firstRow) {
+            if (groupCount == firstRows.length) {
+                firstRows = Arrays.copyOf(firstRows, groupCount * 2);
+                counts = Arrays.copyOf(counts, groupCount * 2);
+                sums = Arrays.copyOf(sums, groupCount * 2);
+            }
+            firstRows[groupCount] = firstRow;
+            return groupCount++;
+        }
+
+        private void accumulate(int slot, long count, double sum, int firstRow) {
+            counts[slot] += count;
+            sums[slot] += sum;
+            firstRows[slot] = Math.min(firstRows[slot], firstRow);
+        }
+
+        private void sortByFirstRow() {
+            Integer[] order = new Integer[groupCount];
+            for (int i = 0; i < groupCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(firstRows[a], firstRows[b]));
+            int[] sortedRows = new int[groupCount];
+            long[] sortedCounts = new long[groupCount];
+            double[] sortedSums = new double[groupCount];
+            for (int i = 0; i < groupCount; i++) {
+                sortedRows[i] = firstRows[order[i]];
+                sortedCounts[i] = counts[order[i]];
+                sortedSums[i] = sums[order[i]];
+            }
+            firstRows = sortedRows;
+            counts = sortedCounts;
+            sums = sortedSums;
+        }
+
+        public int getGroupCount() {
+            return groupCount;
+        }
+
+        public long getCount(int group) {
+            return counts[group];
+        }
+
+        public double getSum(int group) {
+            return sums[group];
+        }
+
+        public String getLabel(int group, String separator) {
+            int row = firstRows[group];
+            if (groupDims.length == 1) {
+                return dimensions[groupDims[0]].getString(row);
+            }
+            List<String> parts = new ArrayList<>(groupDims.length);
+            for (int d : groupDims) {
+                parts.add(dimensions[d].getString(row));
+            }
+            return String.join(separator, parts);
+        }
+    }
+}
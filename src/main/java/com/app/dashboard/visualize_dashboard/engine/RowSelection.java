@@ -0,0 +1,108 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import java.util.Arrays;
+
+/**
+ * Bitmap of selected row indexes over a table of a fixed row count. Filters produce selections,
+ * multiple filters combine with {@link #and(RowSelection)}, and operators walk the set bits.
+ */
+public final class RowSelection {
+
+    private final long[] words;
+    private final int rowCount;
+
+    private RowSelection(long[] words, int rowCount) {
+        this.words = words;
+        this.rowCount = rowCount;
+    }
+
+    public static RowSelection none(int rowCount) {
+        return new RowSelection(new long[wordCount(rowCount)], rowCount);
+    }
+
+    public static RowSelection all(int rowCount) {
+        long[] words = new long[wordCount(rowCount)];
+        Arrays.fill(words, -1L);
+        int tail = rowCount & 63;
+        if (tail != 0) {
+            words[words.length - 1] = (1L << tail) - 1;
+        }
+        return new RowSelection(words, rowCount);
+    }
+
+    private static int wordCount(int rowCount) {
+        return (rowCount + 63) >>> 6;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public void set(int row) {
+        words[row >>> 6] |= 1L << row;
+    }
+
+    public boolean get(int row) {
+        return (words[row >>> 6] & (1L << row)) != 0;
+    }
+
+    // Intersects this selection with other in place and returns this
+    public RowSelection and(RowSelection other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+        return this;
+    }
+
+    // Unions this selection with other in place and returns this
+    public RowSelection or(RowSelection other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    // Returns the first selected row at or after fromRow, or -1 if there is none
+    public int nextSetBit(int fromRow) {
+        if (fromRow >= rowCount) {
+            return -1;
+        }
+        int wordIndex = fromRow >>> 6;
+        long word = words[wordIndex] & (-1L << fromRow);
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int[] toArray() {
+        int[] rows = new int[cardinality()];
+        int i = 0;
+        for (int row = nextSetBit(0); row >= 0; row = nextSetBit(row + 1)) {
+            rows[i++] = row;
+        }
+        return rows;
+    }
+}
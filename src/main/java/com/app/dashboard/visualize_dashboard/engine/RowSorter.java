@@ -0,0 +1,123 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.ColumnKind;
+import com.app.dashboard.visualize_dashboard.model.table.ColumnType;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Orders selected rows by one column. Each row gets a dense int rank, which is packed with the
+ * row's position into a long and sorted as primitives, so the sort is stable and allocation-light.
+ * Numeric and currency/percent columns sort by value, date columns by day, the rest
+ * case-insensitively; blanks sort last in either direction.
+ */
+public final class RowSorter {
+
+    private static final int BLANK_RANK = Integer.MAX_VALUE;
+
+    private RowSorter() {
+    }
+
+    public static int[] sort(RowSelection rows, Column column, boolean descending) {
+        int[] selected = rows.toArray();
+        if (column == null || selected.length < 2) {
+            return selected;
+        }
+        int[] ranks = column instanceof StringColumn stringColumn
+            ? dictionaryRanks(stringColumn, selected)
+            : valueRanks(column, selected, false);
+
+        long[] packed = new long[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            int rank = ranks[i];
+            if (descending && rank != BLANK_RANK) {
+                rank = BLANK_RANK - 1 - rank;
+            }
+            packed[i] = ((long) rank << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] ordered = new int[selected.length];
+        for (int i = 0; i < packed.length; i++) {
+            ordered[i] = selected[(int) packed[i]];
+        }
+        return ordered;
+    }
+
+    // Ranks the dictionary once, then maps every row through its code
+    private static int[] dictionaryRanks(StringColumn column, int[] selected) {
+        ColumnKind kind = column.getKind();
+        if (kind == ColumnKind.NUMERIC || kind == ColumnKind.CURRENCY || kind == ColumnKind.PERCENT
+                || kind == ColumnKind.DATE) {
+            return valueRanks(column, selected, kind == ColumnKind.DATE);
+        }
+        Integer[] codes = new Integer[column.getCardinality()];
+        for (int code = 0; code < codes.length; code++) {
+            codes[code] = code;
+        }
+        Comparator<Integer> byValue = Comparator.comparing(column::getDictionaryValue, String.CASE_INSENSITIVE_ORDER);
+        Arrays.sort(codes, byValue.thenComparing(column::getDictionaryValue));
+        int[] codeRanks = new int[codes.length];
+        for (int rank = 0; rank < codes.length; rank++) {
+            String value = column.getDictionaryValue(codes[rank]);
+            codeRanks[codes[rank]] = value.isEmpty() ? BLANK_RANK : rank;
+        }
+        int[] ranks = new int[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            ranks[i] = codeRanks[column.getCode(selected[i])];
+        }
+        return ranks;
+    }
+
+    // Dense ranks of the numeric (or epoch-day) values, found by binary search in the sorted values
+    private static int[] valueRanks(Column column, int[] selected, boolean dates) {
+        double[] values = new double[selected.length];
+        boolean[] blank = new boolean[selected.length];
+        int present = 0;
+        for (int i = 0; i < selected.length; i++) {
+            int row = selected[i];
+            if (dates) {
+                int day = column.getEpochDay(row);
+                blank[i] = day == DateParser.NO_DATE;
+                values[i] = day;
+            } else {
+                blank[i] = column.isBlank(row) || (column.getType() == ColumnType.STRING && !isNumeric(column.getString(row)));
+                values[i] = column.getDouble(row);
+            }
+            if (!blank[i]) present++;
+        }
+        double[] sorted = new double[present];
+        int next = 0;
+        for (int i = 0; i < selected.length; i++) {
+            if (!blank[i]) sorted[next++] = values[i];
+        }
+        Arrays.sort(sorted);
+        int[] ranks = new int[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            ranks[i] = blank[i] ? BLANK_RANK : lowerBound(sorted, values[i]);
+        }
+        return ranks;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // Text in a numeric-kind column that does not parse sorts with the blanks
+    private static boolean isNumeric(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') return true;
+        }
+        return false;
+    }
+}
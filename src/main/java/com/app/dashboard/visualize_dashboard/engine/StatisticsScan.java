@@ -0,0 +1,157 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fused statistics operator: value counts for several columns and sums for several others in one
+ * scan. Rows are split into chunks scanned on a {@link ChunkedExecutor}; within a chunk each column
+ * is read once with a tight loop, and the per-chunk partials are merged. Columns with a bitmap index take
+ * their counts from the index and are not scanned at all.
+ */
+public final class StatisticsScan {
+
+    private StatisticsScan() {
+    }
+
+    /**
+     * @param countColumns columns to count values of; a missing column counts every row as "N/A"
+     * @param sumColumns columns to sum; a missing column sums to 0
+     */
+    public static Result run(DataTable table, List<String> countColumns, List<String> sumColumns,
+                             ChunkedExecutor executor) {
+        Map<String, Map<String, Long>> distributions = new LinkedHashMap<>();
+        List<String> scannedNames = new ArrayList<>();
+        List<Column> scannedColumns = new ArrayList<>();
+        for (String name : countColumns) {
+            Column column = table.getColumn(name);
+            Map<String, Long> distribution = new HashMap<>();
+            distributions.put(name, distribution);
+            if (column == null) {
+                if (!table.isEmpty()) {
+                    distribution.put("N/A", (long) table.getRowCount());
+                }
+                continue;
+            }
+            BitmapIndex index = table.getIndex(column);
+            if (index != null) {
+                for (int id = 0; id < index.getCardinality(); id++) {
+                    distribution.merge(index.getValue(id), (long) index.getCount(id), Long::sum);
+                }
+                continue;
+            }
+            scannedNames.add(name);
+            scannedColumns.add(column);
+        }
+        Column[] summed = new Column[sumColumns.size()];
+        for (int i = 0; i < summed.length; i++) {
+            summed[i] = table.getColumn(sumColumns.get(i));
+        }
+
+        Column[] counted = scannedColumns.toArray(new Column[0]);
+        Partial merged = executor.execute(table.getRowCount(),
+            (fromRow, toRow) -> scanChunk(counted, summed, fromRow, toRow), Partial::merge);
+        for (int i = 0; i < counted.length; i++) {
+            merged.resolve(i, counted[i], distributions.get(scannedNames.get(i)));
+        }
+        Map<String, Double> sumsByName = new LinkedHashMap<>();
+        for (int i = 0; i < summed.length; i++) {
+            sumsByName.put(sumColumns.get(i), merged.sums[i]);
+        }
+        return new Result(distributions, sumsByName);
+    }
+
+    private static Partial scanChunk(Column[] counted, Column[] summed, int from, int to) {
+        Partial partial = new Partial(counted, summed.length);
+        for (int i = 0; i < counted.length; i++) {
+            if (counted[i] instanceof StringColumn stringColumn) {
+                long[] counts = partial.codeCounts[i];
+                for (int row = from; row < to; row++) {
+                    counts[stringColumn.getCode(row)]++;
+                }
+            } else {
+                Map<String, Long> counts = partial.valueCounts[i];
+                for (int row = from; row < to; row++) {
+                    counts.merge(counted[i].getString(row), 1L, Long::sum);
+                }
+            }
+        }
+        for (int i = 0; i < summed.length; i++) {
+            Column column = summed[i];
+            if (column == null) continue;
+            double sum = 0.0;
+            for (int row = from; row < to; row++) {
+                sum += column.getDouble(row);
+            }
+            partial.sums[i] = sum;
+        }
+        return partial;
+    }
+
+    /**
+     * Counts and sums over one chunk: dictionary columns count codes, other columns count values.
+     */
+    private static final class Partial {
+        final long[][] codeCounts;
+        final Map<String, Long>[] valueCounts;
+        final double[] sums;
+
+        @SuppressWarnings("unchecked")
+        Partial(Column[] counted, int sumCount) {
+            codeCounts = new long[counted.length][];
+            valueCounts = new Map[counted.length];
+            for (int i = 0; i < counted.length; i++) {
+                if (counted[i] instanceof StringColumn stringColumn) {
+                    codeCounts[i] = new long[stringColumn.getCardinality()];
+                } else {
+                    valueCounts[i] = new HashMap<>();
+                }
+            }
+            sums = new double[sumCount];
+        }
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < codeCounts.length; i++) {
+                if (codeCounts[i] != null) {
+                    long[] counts = codeCounts[i];
+                    long[] otherCounts = other.codeCounts[i];
+                    for (int code = 0; code < counts.length; code++) {
+                        counts[code] += otherCounts[code];
+                    }
+                } else {
+                    Map<String, Long> counts = valueCounts[i];
+                    other.valueCounts[i].forEach((value, count) -> counts.merge(value, count, Long::sum));
+                }
+            }
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+            }
+            return this;
+        }
+
+        // Resolves each dictionary code to its value once; equal values under different codes are merged
+        void resolve(int i, Column column, Map<String, Long> distribution) {
+            if (codeCounts[i] == null) {
+                distribution.putAll(valueCounts[i]);
+                return;
+            }
+            StringColumn stringColumn = (StringColumn) column;
+            long[] counts = codeCounts[i];
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    distribution.merge(stringColumn.getDictionaryValue(code), counts[code], Long::sum);
+                }
+            }
+        }
+    }
+
+    public record Result(Map<String, Map<String, Long>> distributions, Map<String, Double> sums) {
+    }
+}
@@ -8,7 +8,7 @@ public class AggregateRequest {
     private List<String> groupBy;
     private String operation; // "count", "sum", "avg"
     private String valueColumn;
-    private Map<String, Object> filters;
+    private Map<String, Object> filters; // value, list of values, {min, max} or {from, to}
     
     // Getters and Setters
     public String getType() { return type; }
@@ -0,0 +1,15 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.util.List;
+
+public class BatchPreviewRequest {
+    private String dashboardId; // evaluates the saved dashboard's widgets; otherwise widgets is used
+    private List<WidgetConfig> widgets;
+    
+    // Getters and Setters
+    public String getDashboardId() { return dashboardId; }
+    public void setDashboardId(String dashboardId) { this.dashboardId = dashboardId; }
+    
+    public List<WidgetConfig> getWidgets() { return widgets; }
+    public void setWidgets(List<WidgetConfig> widgets) { this.widgets = widgets; }
+}
@@ -0,0 +1,15 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.util.List;
+
+public class BatchPreviewResponse {
+    private List<WidgetPreviewResponse> previews; // in widget order; null where the widget failed
+    private List<String> errors; // in widget order; null where the widget succeeded
+    
+    // Getters and Setters
+    public List<WidgetPreviewResponse> getPreviews() { return previews; }
+    public void setPreviews(List<WidgetPreviewResponse> previews) { this.previews = previews; }
+    
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,36 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.util.List;
+
+/**
+ * One column of a {@link ColumnarRows} payload. "dictionary" columns send each distinct string
+ * once and an int code per row; "long" and "double" columns send a plain numeric array, with the
+ * positions of blank cells listed separately.
+ */
+public class ColumnVector {
+    public static final String DICTIONARY = "dictionary";
+    public static final String LONG = "long";
+    public static final String DOUBLE = "double";
+    
+    private String name;
+    private String encoding;
+    private List<String> dictionary; // dictionary encoding only
+    private Object values; // int[] codes, long[] or double[]
+    private int[] blanks; // numeric encodings only; null when no cell is blank
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getEncoding() { return encoding; }
+    public void setEncoding(String encoding) { this.encoding = encoding; }
+    
+    public List<String> getDictionary() { return dictionary; }
+    public void setDictionary(List<String> dictionary) { this.dictionary = dictionary; }
+    
+    public Object getValues() { return values; }
+    public void setValues(Object values) { this.values = values; }
+    
+    public int[] getBlanks() { return blanks; }
+    public void setBlanks(int[] blanks) { this.blanks = blanks; }
+}
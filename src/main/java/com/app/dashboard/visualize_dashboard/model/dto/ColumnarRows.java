@@ -0,0 +1,27 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.util.List;
+
+/**
+ * Column-oriented encoding of a set of rows: each column name appears once, followed by one array
+ * of values for all rows. Served instead of row maps when the client accepts {@link #MEDIA_TYPE}
+ * (or CBOR).
+ */
+public class ColumnarRows {
+    public static final String MEDIA_TYPE = "application/vnd.dashboard.columnar+json";
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
+    
+    private int rowCount;
+    private int[] rowNumbers; // Source spreadsheet row of each position
+    private List<ColumnVector> columns;
+    
+    // Getters and Setters
+    public int getRowCount() { return rowCount; }
+    public void setRowCount(int rowCount) { this.rowCount = rowCount; }
+    
+    public int[] getRowNumbers() { return rowNumbers; }
+    public void setRowNumbers(int[] rowNumbers) { this.rowNumbers = rowNumbers; }
+    
+    public List<ColumnVector> getColumns() { return columns; }
+    public void setColumns(List<ColumnVector> columns) { this.columns = columns; }
+}
@@ -0,0 +1,25 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Partial dashboard update; null fields are left unchanged
+public class DashboardPatch {
+    private String name;
+    private Map<String, String> layout; // Merged by widget id; a null value removes the entry
+    private List<WidgetConfig> widgets; // Replaces widgets with the same id, appends the others
+    private List<String> removedWidgetIds; // Removed along with their layout entries
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Map<String, String> getLayout() { return layout; }
+    public void setLayout(Map<String, String> layout) { this.layout = layout; }
+    
+    public List<WidgetConfig> getWidgets() { return widgets; }
+    public void setWidgets(List<WidgetConfig> widgets) { this.widgets = widgets; }
+    
+    public List<String> getRemovedWidgetIds() { return removedWidgetIds; }
+    public void setRemovedWidgetIds(List<String> removedWidgetIds) { this.removedWidgetIds = removedWidgetIds; }
+}
@@ -0,0 +1,39 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.time.LocalDateTime;
+
+// Dashboard metadata without layout or widgets, as served by the dashboard list
+public class DashboardSummary {
+    private String id;
+    private String name;
+    private String user;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public DashboardSummary() {
+    }
+
+    public DashboardSummary(DashboardResponse dashboard) {
+        this.id = dashboard.getId();
+        this.name = dashboard.getName();
+        this.user = dashboard.getUser();
+        this.createdAt = dashboard.getCreatedAt();
+        this.updatedAt = dashboard.getUpdatedAt();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getUser() { return user; }
+    public void setUser(String user) { this.user = user; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
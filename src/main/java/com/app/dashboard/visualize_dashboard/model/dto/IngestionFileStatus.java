@@ -0,0 +1,41 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+public class IngestionFileStatus {
+    private String type; // "open" or "release"
+    private String fileName;
+    private String path;
+    private String phase; // "QUEUED", "PARSING", "COMPLETED", "FAILED"
+    private long fileSize; // workbook size on disk
+    private long bytesProcessed; // uncompressed sheet XML read so far, or snapshot bytes when loaded from a snapshot
+    private long bytesTotal; // what bytesProcessed reaches when done, -1 while unknown
+    private long rowsParsed;
+    private String error;
+    
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+    
+    public String getPhase() { return phase; }
+    public void setPhase(String phase) { this.phase = phase; }
+    
+    public long getFileSize() { return fileSize; }
+    public void setFileSize(long fileSize) { this.fileSize = fileSize; }
+    
+    public long getBytesProcessed() { return bytesProcessed; }
+    public void setBytesProcessed(long bytesProcessed) { this.bytesProcessed = bytesProcessed; }
+    
+    public long getBytesTotal() { return bytesTotal; }
+    public void setBytesTotal(long bytesTotal) { this.bytesTotal = bytesTotal; }
+    
+    public long getRowsParsed() { return rowsParsed; }
+    public void setRowsParsed(long rowsParsed) { this.rowsParsed = rowsParsed; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,36 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class IngestionJobResponse {
+    private String jobId;
+    private String phase; // "RUNNING", "COMPLETED", "FAILED"
+    private boolean success;
+    private List<String> errors;
+    private List<IngestionFileStatus> files;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    
+    public String getPhase() { return phase; }
+    public void setPhase(String phase) { this.phase = phase; }
+    
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+    
+    public List<IngestionFileStatus> getFiles() { return files; }
+    public void setFiles(List<IngestionFileStatus> files) { this.files = files; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,36 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class RowPageResponse {
+    private List<String> columns;
+    private List<Map<String, Object>> rows;
+    private ColumnarRows columnarRows; // set instead of rows when the columnar format was requested
+    private int offset;
+    private int limit;
+    private int totalRows;
+    private Integer nextOffset; // null on the last page
+    
+    // Getters and Setters
+    public List<String> getColumns() { return columns; }
+    public void setColumns(List<String> columns) { this.columns = columns; }
+    
+    public List<Map<String, Object>> getRows() { return rows; }
+    public void setRows(List<Map<String, Object>> rows) { this.rows = rows; }
+    
+    public ColumnarRows getColumnarRows() { return columnarRows; }
+    public void setColumnarRows(ColumnarRows columnarRows) { this.columnarRows = columnarRows; }
+    
+    public int getOffset() { return offset; }
+    public void setOffset(int offset) { this.offset = offset; }
+    
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+    
+    public Integer getNextOffset() { return nextOffset; }
+    public void setNextOffset(Integer nextOffset) { this.nextOffset = nextOffset; }
+}
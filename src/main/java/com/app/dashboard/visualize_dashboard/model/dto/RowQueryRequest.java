@@ -0,0 +1,36 @@
+package com.app.dashboard.visualize_dashboard.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class RowQueryRequest {
+    private String type; // "open" or "release"
+    private Map<String, Object> filters; // value, list of values, {min, max} or {from, to}
+    private List<String> columns; // projection; all columns when empty
+    private String sortBy;
+    private String sortDirection; // "asc" or "desc"
+    private Integer offset;
+    private Integer limit;
+    
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public Map<String, Object> getFilters() { return filters; }
+    public void setFilters(Map<String, Object> filters) { this.filters = filters; }
+    
+    public List<String> getColumns() { return columns; }
+    public void setColumns(List<String> columns) { this.columns = columns; }
+    
+    public String getSortBy() { return sortBy; }
+    public void setSortBy(String sortBy) { this.sortBy = sortBy; }
+    
+    public String getSortDirection() { return sortDirection; }
+    public void setSortDirection(String sortDirection) { this.sortDirection = sortDirection; }
+    
+    public Integer getOffset() { return offset; }
+    public void setOffset(Integer offset) { this.offset = offset; }
+    
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+}
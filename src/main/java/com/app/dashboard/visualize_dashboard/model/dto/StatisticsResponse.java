@@ -14,6 +14,8 @@ public class StatisticsResponse {
     private double novRev;
     private double decRev;
     private double q3Rev;
+    private Map<String, Map<String, Long>> distributions; // every configured distribution, by column
+    private Map<String, Double> sums; // every configured sum, by column
     
     // Getters and Setters
     public long getTotalOpenRequirements() { return totalOpenRequirements; }
@@ -48,5 +50,11 @@ public class StatisticsResponse {
     
     public double getQ3Rev() { return q3Rev; }
     public void setQ3Rev(double q3Rev) { this.q3Rev = q3Rev; }
+    
+    public Map<String, Map<String, Long>> getDistributions() { return distributions; }
+    public void setDistributions(Map<String, Map<String, Long>> distributions) { this.distributions = distributions; }
+    
+    public Map<String, Double> getSums() { return sums; }
+    public void setSums(Map<String, Double> sums) { this.sums = sums; }
 }
 
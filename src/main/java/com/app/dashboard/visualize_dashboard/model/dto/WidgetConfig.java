@@ -12,7 +12,7 @@ public class WidgetConfig {
     private List<String> groupBy;
     private String operation; // "count", "sum", "avg"
     private String valueColumn;
-    private Map<String, Object> filters;
+    private Map<String, Object> filters; // value, list of values, {min, max} or {from, to}
     private Map<String, Object> options;
     
     // Getters and Setters
@@ -6,7 +6,9 @@ import java.util.Map;
 public class WidgetPreviewResponse {
     private List<String> labels;
     private List<Object> values;
-    private List<Map<String, Object>> rawData;
+    private List<Map<String, Object>> rawData; // first page of the filtered rows
+    private ColumnarRows columnarData; // the same rows, when the columnar format was requested
+    private int totalRows; // filtered row count; page through the rest with /api/data/rows
     private String warning;
     private List<Integer> invalidRowNumbers;
     
@@ -20,6 +22,12 @@ public class WidgetPreviewResponse {
     public List<Map<String, Object>> getRawData() { return rawData; }
     public void setRawData(List<Map<String, Object>> rawData) { this.rawData = rawData; }
 
+    public ColumnarRows getColumnarData() { return columnarData; }
+    public void setColumnarData(ColumnarRows columnarData) { this.columnarData = columnarData; }
+
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+
     public String getWarning() { return warning; }
     public void setWarning(String warning) { this.warning = warning; }
 
@@ -0,0 +1,96 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import com.app.dashboard.visualize_dashboard.engine.DateParser;
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
+
+/**
+ * A single column of a {@link DataTable}. Values are addressed by row index;
+ * {@link #getString(int)} returns the cell exactly as it was read from the sheet.
+ */
+public abstract class Column {
+
+    private final String name;
+    // Set once by DataTableBuilder before the table is published
+    private ColumnKind kind = ColumnKind.TEXT;
+    private int parseFailures;
+    private volatile int[] epochDays;
+
+    protected Column(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ColumnKind getKind() {
+        return kind;
+    }
+
+    // Non-blank cells that did not parse as the inferred kind; they read as 0.0
+    public int getParseFailures() {
+        return parseFailures;
+    }
+
+    void setProfile(ColumnKind kind, int parseFailures) {
+        this.kind = kind;
+        this.parseFailures = parseFailures;
+    }
+
+    public abstract ColumnType getType();
+
+    public abstract int size();
+
+    public abstract String getString(int row);
+
+    // Numeric view of the cell; blank or non-numeric cells read as 0.0
+    public abstract double getDouble(int row);
+
+    public abstract boolean isBlank(int row);
+
+    // Cell read as a date, as an epoch day, or DateParser.NO_DATE when blank or unparseable.
+    // Dates are parsed once per column (eagerly for DATE columns) and reused by every request.
+    public int getEpochDay(int row) {
+        int[] days = epochDays;
+        if (days == null) {
+            days = parseEpochDays();
+            epochDays = days;
+        }
+        return days[row];
+    }
+
+    void prepareEpochDays() {
+        getEpochDay(0);
+    }
+
+    private int[] parseEpochDays() {
+        DateParser parser = new DateParser();
+        int[] days = new int[Math.max(size(), 1)];
+        for (int row = 0; row < size(); row++) {
+            days[row] = isBlank(row) ? DateParser.NO_DATE : parser.toEpochDay(getString(row));
+        }
+        return days;
+    }
+
+    // Sum of getDouble over every row; subclasses loop their primitive arrays directly
+    public double sum() {
+        double sum = 0.0;
+        for (int row = 0; row < size(); row++) {
+            sum += getDouble(row);
+        }
+        return sum;
+    }
+
+    public double sum(RowSelection rows) {
+        return sum(rows, 0, size());
+    }
+
+    // Sum over the selected rows in [fromRow, toRow), so large selections can be summed in chunks
+    public double sum(RowSelection rows, int fromRow, int toRow) {
+        double sum = 0.0;
+        for (int row = rows.nextSetBit(fromRow); row >= 0 && row < toRow; row = rows.nextSetBit(row + 1)) {
+            sum += getDouble(row);
+        }
+        return sum;
+    }
+}
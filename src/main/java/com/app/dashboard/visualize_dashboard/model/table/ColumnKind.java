@@ -0,0 +1,14 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+/**
+ * What a column's values mean, inferred once at load. Independent of {@link ColumnType}, which
+ * describes how the values are stored.
+ */
+public enum ColumnKind {
+    NUMERIC,
+    CURRENCY,
+    PERCENT,
+    DATE,
+    CATEGORICAL,
+    TEXT
+}
@@ -0,0 +1,7 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+public enum ColumnType {
+    STRING,
+    LONG,
+    DOUBLE
+}
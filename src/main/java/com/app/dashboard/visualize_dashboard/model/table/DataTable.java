@@ -0,0 +1,171 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import com.app.dashboard.visualize_dashboard.engine.BitmapIndex;
+import com.app.dashboard.visualize_dashboard.engine.RollupCube;
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable columnar representation of a parsed sheet. Row maps are only materialised on demand
+ * (sample data, raw widget data); operators read the typed columns directly.
+ */
+public class DataTable {
+
+    public static final String ROW_NUMBER_KEY = "__row_number__";
+
+    private static final DataTable EMPTY = new DataTable(Collections.emptyList(), new int[0], 0);
+
+    private final List<Column> columns;
+    private final List<String> columnNames;
+    private final Map<String, Integer> columnIndex;
+    private final Map<String, Integer> foldedColumnIndex;
+    private final int[] rowNumbers;
+    private final int rowCount;
+    private final Map<Column, BitmapIndex> indexes;
+    private final List<RollupCube> rollups;
+
+    public DataTable(List<Column> columns, int[] rowNumbers, int rowCount) {
+        this(columns, rowNumbers, rowCount, Collections.emptyMap(), List.of());
+    }
+
+    private DataTable(List<Column> columns, int[] rowNumbers, int rowCount, Map<Column, BitmapIndex> indexes,
+                      List<RollupCube> rollups) {
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        List<String> names = new ArrayList<>(columns.size());
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> foldedIndex = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).getName();
+            names.add(name);
+            index.put(name, i);
+            foldedIndex.putIfAbsent(foldCase(name.trim()), i);
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+        this.columnIndex = index;
+        this.foldedColumnIndex = foldedIndex;
+        this.rowNumbers = rowNumbers;
+        this.rowCount = rowCount;
+        this.indexes = indexes;
+        this.rollups = rollups;
+    }
+
+    // Same columns with the given per-column bitmap indexes attached
+    public DataTable withIndexes(Map<Column, BitmapIndex> indexes) {
+        return new DataTable(columns, rowNumbers, rowCount, new IdentityHashMap<>(indexes), rollups);
+    }
+
+    // Same columns and indexes with the given precomputed rollups attached
+    public DataTable withRollups(List<RollupCube> rollups) {
+        return new DataTable(columns, rowNumbers, rowCount, indexes, List.copyOf(rollups));
+    }
+
+    public List<RollupCube> getRollups() {
+        return rollups;
+    }
+
+    // Null when the column was not indexed at load time
+    public BitmapIndex getIndex(Column column) {
+        return indexes.get(column);
+    }
+
+    public int getIndexedColumnCount() {
+        return indexes.size();
+    }
+
+    public static DataTable empty() {
+        return EMPTY;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public int getColumnIndex(String name) {
+        Integer index = name != null ? columnIndex.get(name) : null;
+        return index != null ? index : -1;
+    }
+
+    // Exact (case-sensitive) lookup, null when the sheet has no such column
+    public Column getColumn(String name) {
+        int index = getColumnIndex(name);
+        return index >= 0 ? columns.get(index) : null;
+    }
+
+    // Case-insensitive lookup ignoring surrounding whitespace in the header; resolve once per request, not per row
+    public Column findColumnIgnoreCase(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer index = foldedColumnIndex.get(foldCase(name));
+        return index != null ? columns.get(index) : null;
+    }
+
+    public Column getColumn(int index) {
+        return columns.get(index);
+    }
+
+    // Excel row number (1-based) the row was read from
+    public int getRowNumber(int row) {
+        return rowNumbers[row];
+    }
+
+    private static String foldCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public Map<String, Object> getRow(int row) {
+        return getRow(row, columns);
+    }
+
+    // Row map holding only the given columns (plus the row number)
+    public Map<String, Object> getRow(int row, List<Column> projection) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Column column : projection) {
+            values.put(column.getName(), column.getString(row));
+        }
+        values.put(ROW_NUMBER_KEY, rowNumbers[row]);
+        return values;
+    }
+
+    public List<Map<String, Object>> getRows(int limit) {
+        int count = Math.max(0, Math.min(limit, rowCount));
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int row = 0; row < count; row++) {
+            rows.add(getRow(row));
+        }
+        return rows;
+    }
+
+    public List<Map<String, Object>> getRows(RowSelection selection) {
+        return getRows(selection, Integer.MAX_VALUE);
+    }
+
+    // First limit selected rows, in row order
+    public List<Map<String, Object>> getRows(RowSelection selection, int limit) {
+        List<Map<String, Object>> rows = new ArrayList<>(Math.max(0, Math.min(limit, selection.cardinality())));
+        for (int row = selection.nextSetBit(0); row >= 0 && rows.size() < limit; row = selection.nextSetBit(row + 1)) {
+            rows.add(getRow(row));
+        }
+        return rows;
+    }
+}
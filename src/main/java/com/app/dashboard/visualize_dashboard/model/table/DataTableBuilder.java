@@ -0,0 +1,193 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates rows into dictionary-encoded column buffers. Cell values are encoded as they arrive
+ * and cells a row never set are filled with the column's blank code at {@link #endRow(int)}. On
+ * {@link #build()} each column is narrowed to a primitive long/double column when every distinct
+ * value round-trips losslessly, and its {@link ColumnKind} is inferred.
+ */
+public class DataTableBuilder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final List<String> columnNames;
+    private final ColumnBuilder[] builders;
+    private int[] rowNumbers = new int[INITIAL_CAPACITY];
+    private int rowCount;
+
+    public DataTableBuilder(List<String> columnNames) {
+        this.columnNames = new ArrayList<>(columnNames);
+        this.builders = new ColumnBuilder[columnNames.size()];
+        for (int i = 0; i < builders.length; i++) {
+            builders[i] = new ColumnBuilder();
+        }
+    }
+
+    public int getColumnCount() {
+        return builders.length;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public void startRow() {
+        // Nothing to reset: a column that has no value at the current row index is simply blank
+    }
+
+    public void setValue(int columnIndex, String value) {
+        if (columnIndex >= 0 && columnIndex < builders.length) {
+            builders[columnIndex].set(rowCount, value != null ? value : "");
+        }
+    }
+
+    public void endRow(int rowNumber) {
+        for (ColumnBuilder builder : builders) {
+            builder.fillTo(rowCount + 1);
+        }
+        if (rowCount == rowNumbers.length) {
+            rowNumbers = Arrays.copyOf(rowNumbers, rowCount * 2);
+        }
+        rowNumbers[rowCount++] = rowNumber;
+    }
+
+    public DataTable build() {
+        List<Column> columns = new ArrayList<>(builders.length);
+        for (int i = 0; i < builders.length; i++) {
+            columns.add(builders[i].build(columnNames.get(i), rowCount));
+        }
+        return new DataTable(columns, Arrays.copyOf(rowNumbers, rowCount), rowCount);
+    }
+
+    private static class ColumnBuilder {
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] codes = new int[INITIAL_CAPACITY];
+        private int size;
+        private int blankCode = -1;
+
+        // Writes the value at row, blank-filling any rows this column skipped; a repeated cell
+        // reference within a row overwrites the earlier value
+        void set(int row, String value) {
+            if (row < size) {
+                codes[row] = encode(value);
+                return;
+            }
+            fillTo(row);
+            append(encode(value));
+        }
+
+        void fillTo(int rowCount) {
+            if (size >= rowCount) return;
+            if (blankCode < 0) blankCode = encode("");
+            while (size < rowCount) {
+                append(blankCode);
+            }
+        }
+
+        private void append(int code) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = code;
+        }
+
+        private int encode(String value) {
+            if (value.isEmpty() && blankCode >= 0) return blankCode;
+            Integer code = codesByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value); // Only the first occurrence is retained; repeats share it
+                codesByValue.put(value, code);
+                if (value.isEmpty()) blankCode = code;
+            }
+            return code;
+        }
+
+        Column build(String name, int rowCount) {
+            Column column = buildStorage(name, rowCount);
+            if (column instanceof StringColumn) {
+                int[] codeCounts = new int[dictionary.size()];
+                for (int row = 0; row < rowCount; row++) {
+                    codeCounts[codes[row]]++;
+                }
+                TypeInference.Result profile = TypeInference.infer(dictionary.toArray(new String[0]), codeCounts);
+                column.setProfile(profile.kind(), profile.parseFailures());
+                if (profile.kind() == ColumnKind.DATE) {
+                    column.prepareEpochDays();
+                }
+            } else {
+                column.setProfile(ColumnKind.NUMERIC, 0);
+            }
+            return column;
+        }
+
+        private Column buildStorage(String name, int rowCount) {
+            if (isLongDictionary()) {
+                long[] numeric = new long[dictionary.size()];
+                for (int i = 0; i < numeric.length; i++) {
+                    String value = dictionary.get(i);
+                    numeric[i] = value.isEmpty() ? 0L : Long.parseLong(value);
+                }
+                long[] values = new long[rowCount];
+                BitSet blanks = new BitSet(rowCount);
+                for (int row = 0; row < rowCount; row++) {
+                    values[row] = numeric[codes[row]];
+                    if (dictionary.get(codes[row]).isEmpty()) blanks.set(row);
+                }
+                return new LongColumn(name, values, blanks, rowCount);
+            }
+            if (isDoubleDictionary()) {
+                double[] numeric = new double[dictionary.size()];
+                for (int i = 0; i < numeric.length; i++) {
+                    String value = dictionary.get(i);
+                    numeric[i] = value.isEmpty() ? 0.0 : Double.parseDouble(value);
+                }
+                double[] values = new double[rowCount];
+                BitSet blanks = new BitSet(rowCount);
+                for (int row = 0; row < rowCount; row++) {
+                    values[row] = numeric[codes[row]];
+                    if (dictionary.get(codes[row]).isEmpty()) blanks.set(row);
+                }
+                return new DoubleColumn(name, values, blanks, rowCount);
+            }
+            return new StringColumn(name, dictionary.toArray(new String[0]), Arrays.copyOf(codes, rowCount), rowCount);
+        }
+
+        private boolean isLongDictionary() {
+            boolean hasNumber = false;
+            for (String value : dictionary) {
+                if (value.isEmpty()) continue;
+                try {
+                    if (!Long.toString(Long.parseLong(value)).equals(value)) return false;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                hasNumber = true;
+            }
+            return hasNumber;
+        }
+
+        private boolean isDoubleDictionary() {
+            boolean hasNumber = false;
+            for (String value : dictionary) {
+                if (value.isEmpty()) continue;
+                try {
+                    double parsed = Double.parseDouble(value);
+                    if (Double.isNaN(parsed) || Double.isInfinite(parsed) || !DoubleColumn.format(parsed).equals(value)) return false;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                hasNumber = true;
+            }
+            return hasNumber;
+        }
+    }
+}
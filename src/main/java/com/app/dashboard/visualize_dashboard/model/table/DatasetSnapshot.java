@@ -0,0 +1,41 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of one loaded file. A reload builds a new snapshot and swaps it in;
+ * requests that already hold the old snapshot finish against it.
+ */
+public class DatasetSnapshot {
+
+    private final String type;
+    private final String filePath;
+    private final DataTable table;
+    private final long version;
+    private final LocalDateTime loadedAt;
+
+    public DatasetSnapshot(String type, String filePath, DataTable table, long version) {
+        this.type = type;
+        this.filePath = filePath;
+        this.table = table;
+        this.version = version;
+        this.loadedAt = LocalDateTime.now();
+    }
+
+    public static DatasetSnapshot empty(String type) {
+        return new DatasetSnapshot(type, null, DataTable.empty(), 0L);
+    }
+
+    public String getType() { return type; }
+
+    public String getFilePath() { return filePath; }
+
+    public DataTable getTable() { return table; }
+
+    public List<String> getColumns() { return table.getColumnNames(); }
+
+    public long getVersion() { return version; }
+
+    public LocalDateTime getLoadedAt() { return loadedAt; }
+}
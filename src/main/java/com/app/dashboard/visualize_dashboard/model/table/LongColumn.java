@@ -0,0 +1,86 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
+
+import java.nio.LongBuffer;
+import java.util.BitSet;
+
+public class LongColumn extends Column {
+
+    // Exactly one of these is set: an on-heap array or a view of a memory-mapped snapshot file
+    private final long[] values;
+    private final LongBuffer mappedValues;
+    private final BitSet blanks;
+    private final int size;
+
+    public LongColumn(String name, long[] values, BitSet blanks, int size) {
+        super(name);
+        this.values = values;
+        this.mappedValues = null;
+        this.blanks = blanks;
+        this.size = size;
+    }
+
+    // Off-heap variant: values are read straight from the mapped buffer
+    public LongColumn(String name, LongBuffer values, BitSet blanks, int size) {
+        super(name);
+        this.values = null;
+        this.mappedValues = values;
+        this.blanks = blanks;
+        this.size = size;
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.LONG;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getString(int row) {
+        return blanks.get(row) ? "" : Long.toString(getLong(row));
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return getLong(row);
+    }
+
+    @Override
+    public boolean isBlank(int row) {
+        return blanks.get(row);
+    }
+
+    // Blank rows hold 0, so they need no special casing
+    @Override
+    public double sum() {
+        double sum = 0.0;
+        if (values != null) {
+            for (int row = 0; row < size; row++) {
+                sum += values[row];
+            }
+        } else {
+            for (int row = 0; row < size; row++) {
+                sum += mappedValues.get(row);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public double sum(RowSelection rows, int fromRow, int toRow) {
+        double sum = 0.0;
+        for (int row = rows.nextSetBit(fromRow); row >= 0 && row < toRow; row = rows.nextSetBit(row + 1)) {
+            sum += getLong(row);
+        }
+        return sum;
+    }
+
+    public long getLong(int row) {
+        return values != null ? values[row] : mappedValues.get(row);
+    }
+}
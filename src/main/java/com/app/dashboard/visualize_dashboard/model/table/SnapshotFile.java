@@ -0,0 +1,242 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary columnar encoding of the tables parsed from one workbook. The header records the format
+ * version and a fingerprint of the source file; {@link #read} returns null when either does not
+ * match, so the caller falls back to parsing the workbook. Files are memory-mapped for reading;
+ * column values are either bulk-copied onto the heap or read in place from the mapping.
+ *
+ * <pre>
+ * magic, version, fingerprint, tableCount
+ * per table:  name, rowCount, columnCount, rowNumbers[rowCount]
+ * per column: name, type, kind, parseFailures, then
+ *             STRING: cardinality, dictionary values, codes[rowCount]
+ *             LONG / DOUBLE: values[rowCount], blank bitmap words
+ * </pre>
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x56445453; // "VDTS"
+    private static final int FORMAT_VERSION = 1;
+
+    private SnapshotFile() {
+    }
+
+    // Writes to a temporary sibling and moves it into place, so readers never see a partial file
+    public static void write(Path path, String fingerprint, Map<String, DataTable> tables) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, fingerprint);
+            out.writeInt(tables.size());
+            for (Map.Entry<String, DataTable> entry : tables.entrySet()) {
+                writeString(out, entry.getKey());
+                writeTable(out, entry.getValue());
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Tables by name in the order they were written, or null when the file is missing, was written
+     * by another format version or does not belong to the given source fingerprint. With
+     * {@code mapped} the column values stay in the file mapping (off-heap) instead of being copied
+     * onto the heap; the mapping lives as long as the columns that reference it.
+     */
+    public static Map<String, DataTable> read(Path path, String fingerprint, boolean mapped) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || !fingerprint.equals(readString(buffer))) {
+                return null;
+            }
+            int tableCount = buffer.getInt();
+            Map<String, DataTable> tables = new LinkedHashMap<>();
+            for (int i = 0; i < tableCount; i++) {
+                String name = readString(buffer);
+                tables.put(name, readTable(buffer, mapped));
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Trailing bytes in snapshot file " + path);
+            }
+            return tables;
+        } catch (RuntimeException e) {
+            // Truncated or corrupt file (BufferUnderflowException and friends)
+            throw new IOException("Corrupt snapshot file " + path, e);
+        }
+    }
+
+    private static void writeTable(DataOutputStream out, DataTable table) throws IOException {
+        int rowCount = table.getRowCount();
+        out.writeInt(rowCount);
+        out.writeInt(table.getColumns().size());
+        for (int row = 0; row < rowCount; row++) {
+            out.writeInt(table.getRowNumber(row));
+        }
+        for (Column column : table.getColumns()) {
+            writeString(out, column.getName());
+            out.writeByte(column.getType().ordinal());
+            out.writeByte(column.getKind().ordinal());
+            out.writeInt(column.getParseFailures());
+            if (column instanceof StringColumn stringColumn) {
+                out.writeInt(stringColumn.getCardinality());
+                for (int code = 0; code < stringColumn.getCardinality(); code++) {
+                    writeString(out, stringColumn.getDictionaryValue(code));
+                }
+                for (int row = 0; row < rowCount; row++) {
+                    out.writeInt(stringColumn.getCode(row));
+                }
+            } else {
+                BitSet blanks = new BitSet(rowCount);
+                for (int row = 0; row < rowCount; row++) {
+                    if (column instanceof LongColumn longColumn) {
+                        out.writeLong(longColumn.getLong(row));
+                    } else {
+                        out.writeDouble(column.getDouble(row));
+                    }
+                    if (column.isBlank(row)) blanks.set(row);
+                }
+                long[] words = blanks.toLongArray();
+                out.writeInt(words.length);
+                for (long word : words) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    private static DataTable readTable(ByteBuffer buffer, boolean mapped) {
+        int rowCount = length(buffer, 4);
+        int columnCount = buffer.getInt();
+        int[] rowNumbers = new int[rowCount];
+        buffer.asIntBuffer().get(rowNumbers);
+        skip(buffer, rowCount * 4L);
+
+        List<Column> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            String name = readString(buffer);
+            ColumnType type = ColumnType.values()[buffer.get()];
+            ColumnKind kind = ColumnKind.values()[buffer.get()];
+            int parseFailures = buffer.getInt();
+            Column column;
+            if (type == ColumnType.STRING) {
+                String[] dictionary = new String[length(buffer, 4)];
+                for (int code = 0; code < dictionary.length; code++) {
+                    dictionary[code] = readString(buffer);
+                }
+                if (mapped) {
+                    IntBuffer codes = segment(buffer, rowCount * 4L).asIntBuffer();
+                    checkCodes(codes, dictionary.length);
+                    column = new StringColumn(name, dictionary, codes, rowCount);
+                } else {
+                    int[] codes = new int[rowCount];
+                    buffer.asIntBuffer().get(codes);
+                    skip(buffer, rowCount * 4L);
+                    checkCodes(IntBuffer.wrap(codes), dictionary.length);
+                    column = new StringColumn(name, dictionary, codes, rowCount);
+                }
+            } else if (type == ColumnType.LONG) {
+                if (mapped) {
+                    column = new LongColumn(name, segment(buffer, rowCount * 8L).asLongBuffer(), readBlanks(buffer), rowCount);
+                } else {
+                    long[] values = new long[rowCount];
+                    buffer.asLongBuffer().get(values);
+                    skip(buffer, rowCount * 8L);
+                    column = new LongColumn(name, values, readBlanks(buffer), rowCount);
+                }
+            } else {
+                if (mapped) {
+                    column = new DoubleColumn(name, segment(buffer, rowCount * 8L).asDoubleBuffer(), readBlanks(buffer), rowCount);
+                } else {
+                    double[] values = new double[rowCount];
+                    buffer.asDoubleBuffer().get(values);
+                    skip(buffer, rowCount * 8L);
+                    column = new DoubleColumn(name, values, readBlanks(buffer), rowCount);
+                }
+            }
+            column.setProfile(kind, parseFailures);
+            if (kind == ColumnKind.DATE) {
+                column.prepareEpochDays();
+            }
+            columns.add(column);
+        }
+        return new DataTable(columns, rowNumbers, rowCount);
+    }
+
+    private static BitSet readBlanks(ByteBuffer buffer) {
+        long[] words = new long[length(buffer, 8)];
+        buffer.asLongBuffer().get(words);
+        skip(buffer, words.length * 8L);
+        return BitSet.valueOf(words);
+    }
+
+    // View of the next bytes of the mapping, consumed from the buffer
+    private static ByteBuffer segment(ByteBuffer buffer, long bytes) {
+        ByteBuffer segment = buffer.slice(buffer.position(), (int) bytes);
+        skip(buffer, bytes);
+        return segment;
+    }
+
+    // Reads an element count, rejecting one the rest of the file cannot hold before anything is allocated
+    private static int length(ByteBuffer buffer, int elementBytes) {
+        int length = buffer.getInt();
+        if (length < 0 || (long) length * elementBytes > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
+    // Every code must index the dictionary, or a query would fail long after the snapshot was accepted
+    private static void checkCodes(IntBuffer codes, int cardinality) {
+        for (int row = 0; row < codes.limit(); row++) {
+            int code = codes.get(row);
+            if (code < 0 || code >= cardinality) {
+                throw new BufferUnderflowException();
+            }
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, long bytes) {
+        buffer.position(buffer.position() + (int) bytes);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[length(buffer, 1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
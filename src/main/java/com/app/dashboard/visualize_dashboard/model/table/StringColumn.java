@@ -0,0 +1,150 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import com.app.dashboard.visualize_dashboard.engine.DateParser;
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
+
+import java.nio.IntBuffer;
+
+/**
+ * Dictionary-encoded string column: each distinct value is stored once and rows hold an int code.
+ * The numeric value of every dictionary entry is parsed once at construction, so numeric reads
+ * are two array lookups and the display string is kept for grouping, filtering and raw data.
+ */
+public class StringColumn extends Column {
+
+    private final String[] dictionary;
+    // Exactly one of these is set: on-heap codes or a view of a memory-mapped snapshot file
+    private final int[] codes;
+    private final IntBuffer mappedCodes;
+    private final int size;
+    private final double[] numericDictionary;
+    // Epoch day of every dictionary entry, parsed on first date read
+    private volatile int[] epochDayDictionary;
+
+    public StringColumn(String name, String[] dictionary, int[] codes, int size) {
+        this(name, dictionary, codes, null, size);
+    }
+
+    // Off-heap variant: only the dictionary lives on the heap, codes are read from the mapped buffer
+    public StringColumn(String name, String[] dictionary, IntBuffer codes, int size) {
+        this(name, dictionary, null, codes, size);
+    }
+
+    private StringColumn(String name, String[] dictionary, int[] codes, IntBuffer mappedCodes, int size) {
+        super(name);
+        this.dictionary = dictionary;
+        this.codes = codes;
+        this.mappedCodes = mappedCodes;
+        this.size = size;
+        this.numericDictionary = new double[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            numericDictionary[i] = parseNumber(dictionary[i]);
+        }
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.STRING;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getString(int row) {
+        return dictionary[getCode(row)];
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return numericDictionary[getCode(row)];
+    }
+
+    @Override
+    public boolean isBlank(int row) {
+        return dictionary[getCode(row)].isEmpty();
+    }
+
+    @Override
+    public int getEpochDay(int row) {
+        int[] days = epochDayDictionary;
+        if (days == null) {
+            DateParser parser = new DateParser();
+            days = new int[dictionary.length];
+            for (int i = 0; i < dictionary.length; i++) {
+                days[i] = parser.toEpochDay(dictionary[i]);
+            }
+            epochDayDictionary = days;
+        }
+        return days[getCode(row)];
+    }
+
+    @Override
+    void prepareEpochDays() {
+        if (size > 0) {
+            getEpochDay(0);
+        }
+    }
+
+    @Override
+    public double sum() {
+        double sum = 0.0;
+        if (codes != null) {
+            for (int row = 0; row < size; row++) {
+                sum += numericDictionary[codes[row]];
+            }
+        } else {
+            for (int row = 0; row < size; row++) {
+                sum += numericDictionary[mappedCodes.get(row)];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public double sum(RowSelection rows, int fromRow, int toRow) {
+        double sum = 0.0;
+        for (int row = rows.nextSetBit(fromRow); row >= 0 && row < toRow; row = rows.nextSetBit(row + 1)) {
+            sum += numericDictionary[getCode(row)];
+        }
+        return sum;
+    }
+
+    public int getCode(int row) {
+        return codes != null ? codes[row] : mappedCodes.get(row);
+    }
+
+    public String getDictionaryValue(int code) {
+        return dictionary[code];
+    }
+
+    public int getCardinality() {
+        return dictionary.length;
+    }
+
+    // Keeps only digits, '.' and '-' before parsing ("$1,200.50" -> 1200.5); unparseable text reads as 0.0
+    public static double parseNumber(String value) {
+        StringBuilder digits = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean keep = (c >= '0' && c <= '9') || c == '.' || c == '-';
+            if (!keep && digits == null) {
+                digits = new StringBuilder(value.length());
+                digits.append(value, 0, i);
+            } else if (keep && digits != null) {
+                digits.append(c);
+            }
+        }
+        String numeric = digits != null ? digits.toString() : value;
+        if (numeric.isEmpty()) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(numeric);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import com.app.dashboard.visualize_dashboard.engine.DateParser;
+
+/**
+ * Classifies a dictionary-encoded column at load time. Every distinct value is classified once and
+ * weighted by how many rows hold it; a kind wins when it covers at least {@link #MIN_SHARE} of the
+ * non-blank rows, and the remaining non-blank rows are counted as parse failures.
+ */
+final class TypeInference {
+
+    private static final double MIN_SHARE = 0.9;
+    // Columns with few distinct values (absolutely or relative to the row count) are categorical
+    private static final int MAX_CATEGORICAL_CARDINALITY = 1000;
+    private static final double MAX_CATEGORICAL_RATIO = 0.5;
+
+    private TypeInference() {
+    }
+
+    static Result infer(String[] dictionary, int[] codeCounts) {
+        long[] rowsByKind = new long[ColumnKind.values().length];
+        long nonBlankRows = 0;
+        int nonBlankValues = 0;
+        for (int code = 0; code < dictionary.length; code++) {
+            String value = dictionary[code];
+            if (value.isEmpty()) continue;
+            nonBlankRows += codeCounts[code];
+            nonBlankValues++;
+            ColumnKind kind = classify(value);
+            if (kind != null) {
+                rowsByKind[kind.ordinal()] += codeCounts[code];
+            }
+        }
+        if (nonBlankRows == 0) {
+            return new Result(ColumnKind.TEXT, 0);
+        }
+
+        // Plain numbers also satisfy currency/percent columns that mix in unadorned values
+        long numericRows = rowsByKind[ColumnKind.NUMERIC.ordinal()];
+        for (ColumnKind kind : new ColumnKind[] {ColumnKind.CURRENCY, ColumnKind.PERCENT}) {
+            long rows = rowsByKind[kind.ordinal()];
+            if (rows > numericRows && rows + numericRows >= MIN_SHARE * nonBlankRows) {
+                return new Result(kind, (int) (nonBlankRows - rows - numericRows));
+            }
+        }
+        for (ColumnKind kind : new ColumnKind[] {ColumnKind.NUMERIC, ColumnKind.DATE}) {
+            long rows = rowsByKind[kind.ordinal()];
+            if (rows >= MIN_SHARE * nonBlankRows) {
+                return new Result(kind, (int) (nonBlankRows - rows));
+            }
+        }
+        boolean categorical = nonBlankValues <= MAX_CATEGORICAL_CARDINALITY
+            || nonBlankValues <= MAX_CATEGORICAL_RATIO * nonBlankRows;
+        return new Result(categorical ? ColumnKind.CATEGORICAL : ColumnKind.TEXT, 0);
+    }
+
+    // Null when the value is neither a number nor a date
+    static ColumnKind classify(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        if (trimmed.endsWith("%")) {
+            return isNumber(trimmed.substring(0, trimmed.length() - 1)) ? ColumnKind.PERCENT : null;
+        }
+        char first = trimmed.charAt(0);
+        if (isCurrencySymbol(first) || (first == '-' && trimmed.length() > 1 && isCurrencySymbol(trimmed.charAt(1)))) {
+            String amount = first == '-' ? trimmed.substring(2) : trimmed.substring(1);
+            return isNumber(amount) ? ColumnKind.CURRENCY : null;
+        }
+        if (isNumber(trimmed)) {
+            return ColumnKind.NUMERIC;
+        }
+        return DateParser.parse(trimmed) != null ? ColumnKind.DATE : null;
+    }
+
+    private static boolean isCurrencySymbol(char c) {
+        // $, euro, pound, rupee, yen
+        return c == '$' || c == '\u20AC' || c == '\u00A3' || c == '\u20B9' || c == '\u00A5';
+    }
+
+    // Optional sign, digits with optional thousands separators, optional fraction
+    private static boolean isNumber(String value) {
+        String s = value.trim();
+        int i = 0;
+        if (i < s.length() && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+        int digits = 0;
+        while (i < s.length() && (Character.isDigit(s.charAt(i)) || (s.charAt(i) == ',' && digits > 0))) {
+            if (s.charAt(i) != ',') digits++;
+            i++;
+        }
+        if (i < s.length() && s.charAt(i) == '.') {
+            i++;
+            while (i < s.length() && Character.isDigit(s.charAt(i))) {
+                digits++;
+                i++;
+            }
+        }
+        return digits > 0 && i == s.length();
+    }
+
+    record Result(ColumnKind kind, int parseFailures) {
+    }
+}
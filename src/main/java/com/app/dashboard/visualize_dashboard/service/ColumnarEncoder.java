@@ -0,0 +1,151 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
+import com.app.dashboard.visualize_dashboard.model.dto.ColumnVector;
+import com.app.dashboard.visualize_dashboard.model.dto.ColumnarRows;
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DoubleColumn;
+import com.app.dashboard.visualize_dashboard.model.table.LongColumn;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link ColumnarRows} straight from column storage, without materialising row maps.
+ * String columns are re-coded against a dictionary holding only the values present in the rows.
+ */
+final class ColumnarEncoder {
+    
+    private ColumnarEncoder() {
+    }
+    
+    static ColumnarRows encode(DataTable table, List<Column> projection, int[] rows) {
+        int[] rowNumbers = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            rowNumbers[i] = table.getRowNumber(rows[i]);
+        }
+        List<ColumnVector> vectors = new ArrayList<>(projection.size());
+        for (Column column : projection) {
+            vectors.add(encode(column, rows));
+        }
+        ColumnarRows encoded = new ColumnarRows();
+        encoded.setRowCount(rows.length);
+        encoded.setRowNumbers(rowNumbers);
+        encoded.setColumns(vectors);
+        return encoded;
+    }
+    
+    // First limit selected rows, in row order
+    static int[] firstRows(RowSelection selection, int limit) {
+        int[] rows = new int[Math.max(0, Math.min(limit, selection.cardinality()))];
+        int i = 0;
+        for (int row = selection.nextSetBit(0); row >= 0 && i < rows.length; row = selection.nextSetBit(row + 1)) {
+            rows[i++] = row;
+        }
+        return rows;
+    }
+    
+    static long weigh(ColumnarRows encoded) {
+        // Primitive arrays are several times smaller than the equivalent row maps
+        return encoded != null ? (long) encoded.getRowCount() * encoded.getColumns().size() / 4 : 0;
+    }
+    
+    private static ColumnVector encode(Column column, int[] rows) {
+        ColumnVector vector = new ColumnVector();
+        vector.setName(column.getName());
+        if (column instanceof LongColumn longColumn) {
+            long[] values = new long[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = longColumn.getLong(rows[i]);
+            }
+            vector.setEncoding(ColumnVector.LONG);
+            vector.setValues(values);
+            vector.setBlanks(blanks(column, rows));
+        } else if (column instanceof DoubleColumn) {
+            double[] values = new double[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = column.getDouble(rows[i]);
+            }
+            vector.setEncoding(ColumnVector.DOUBLE);
+            vector.setValues(values);
+            vector.setBlanks(blanks(column, rows));
+        } else if (column instanceof StringColumn stringColumn) {
+            encodeDictionary(stringColumn, rows, vector);
+        } else {
+            encodeStrings(column, rows, vector);
+        }
+        return vector;
+    }
+    
+    private static void encodeDictionary(StringColumn column, int[] rows, ColumnVector vector) {
+        List<String> dictionary = new ArrayList<>();
+        int[] codes = new int[rows.length];
+        // Remap global codes to local ones; an array when the global dictionary is small relative
+        // to the rows, so a high-cardinality text column does not cost a huge array per page
+        if (column.getCardinality() <= rows.length * 4L) {
+            int[] local = new int[column.getCardinality()];
+            Arrays.fill(local, -1);
+            for (int i = 0; i < rows.length; i++) {
+                int code = column.getCode(rows[i]);
+                if (local[code] < 0) {
+                    local[code] = dictionary.size();
+                    dictionary.add(column.getDictionaryValue(code));
+                }
+                codes[i] = local[code];
+            }
+        } else {
+            Map<Integer, Integer> local = new HashMap<>();
+            for (int i = 0; i < rows.length; i++) {
+                int code = column.getCode(rows[i]);
+                Integer localCode = local.get(code);
+                if (localCode == null) {
+                    localCode = dictionary.size();
+                    local.put(code, localCode);
+                    dictionary.add(column.getDictionaryValue(code));
+                }
+                codes[i] = localCode;
+            }
+        }
+        vector.setEncoding(ColumnVector.DICTIONARY);
+        vector.setDictionary(dictionary);
+        vector.setValues(codes);
+    }
+    
+    private static void encodeStrings(Column column, int[] rows, ColumnVector vector) {
+        List<String> dictionary = new ArrayList<>();
+        Map<String, Integer> local = new HashMap<>();
+        int[] codes = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            String value = column.getString(rows[i]);
+            Integer code = local.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                local.put(value, code);
+                dictionary.add(value);
+            }
+            codes[i] = code;
+        }
+        vector.setEncoding(ColumnVector.DICTIONARY);
+        vector.setDictionary(dictionary);
+        vector.setValues(codes);
+    }
+    
+    private static int[] blanks(Column column, int[] rows) {
+        int count = 0;
+        for (int row : rows) {
+            if (column.isBlank(row)) count++;
+        }
+        if (count == 0) return null;
+        int[] blanks = new int[count];
+        int j = 0;
+        for (int i = 0; i < rows.length; i++) {
+            if (column.isBlank(rows[i])) blanks[j++] = i;
+        }
+        return blanks;
+    }
+}
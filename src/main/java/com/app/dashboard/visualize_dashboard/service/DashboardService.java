@@ -1,44 +1,27 @@
 package com.app.dashboard.visualize_dashboard.service;
 
+import com.app.dashboard.visualize_dashboard.model.dto.DashboardPatch;
 import com.app.dashboard.visualize_dashboard.model.dto.DashboardRequest;
 import com.app.dashboard.visualize_dashboard.model.dto.DashboardResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.app.dashboard.visualize_dashboard.model.dto.DashboardSummary;
+import com.app.dashboard.visualize_dashboard.model.dto.WidgetConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class DashboardService {
     
     private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
     
-    private final ObjectMapper objectMapper;
-    private final Path dashboardsDir;
+    private final DashboardStore dashboardStore;
     
-    public DashboardService(ObjectMapper objectMapper, 
-                           @Value("${file.upload-dir:./uploads}") String uploadDir) {
-        this.objectMapper = objectMapper;
-        this.dashboardsDir = Paths.get(uploadDir, "dashboards");
-        
-        // Create dashboards directory if it doesn't exist
-        try {
-            if (!Files.exists(dashboardsDir)) {
-                Files.createDirectories(dashboardsDir);
-                logger.info("Created dashboards directory: {}", dashboardsDir);
-            }
-        } catch (IOException e) {
-            logger.error("Failed to create dashboards directory", e);
-        }
+    public DashboardService(DashboardStore dashboardStore) {
+        this.dashboardStore = dashboardStore;
     }
     
     public DashboardResponse saveDashboard(DashboardRequest request) {
@@ -56,19 +39,10 @@ public class DashboardService {
             dashboard.setLayout(request.getLayout());
             dashboard.setWidgets(request.getWidgets() != null ? request.getWidgets() : new ArrayList<>());
             
-            // Set timestamps
-            Path dashboardFile = dashboardsDir.resolve(id + ".json");
-            if (Files.exists(dashboardFile)) {
-                // Load existing to preserve createdAt
-                try {
-                    DashboardResponse existing = objectMapper.readValue(
-                        dashboardFile.toFile(), 
-                        DashboardResponse.class
-                    );
-                    dashboard.setCreatedAt(existing.getCreatedAt());
-                } catch (Exception e) {
-                    logger.warn("Could not load existing dashboard timestamps", e);
-                }
+            // Set timestamps; createdAt of an existing dashboard comes from the index
+            DashboardSummary existing = dashboardStore.getSummary(id);
+            if (existing != null) {
+                dashboard.setCreatedAt(existing.getCreatedAt());
             }
             
             if (dashboard.getCreatedAt() == null) {
@@ -76,11 +50,7 @@ public class DashboardService {
             }
             dashboard.setUpdatedAt(LocalDateTime.now());
             
-            // Save to file
-            objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(dashboardFile.toFile(), dashboard);
-            
-            logger.info("Dashboard saved to: {}", dashboardFile);
+            dashboardStore.save(dashboard);
             return dashboard;
             
         } catch (Exception e) {
@@ -89,41 +59,82 @@ public class DashboardService {
         }
     }
     
-    public List<DashboardResponse> listDashboards() {
+    /**
+     * Applies a partial update (name, layout entries, added/replaced/removed widgets) to the
+     * current version of a dashboard, so autosaves need not resend the whole document.
+     */
+    public DashboardResponse patchDashboard(String id, DashboardPatch patch) {
+        DashboardResponse updated;
         try {
-            if (!Files.exists(dashboardsDir)) {
-                return new ArrayList<>();
-            }
-            
-            try (Stream<Path> paths = Files.list(dashboardsDir)) {
-                return paths
-                    .filter(path -> path.toString().endsWith(".json"))
-                    .map(path -> {
-                        try {
-                            return objectMapper.readValue(path.toFile(), DashboardResponse.class);
-                        } catch (Exception e) {
-                            logger.error("Error reading dashboard file: {}", path, e);
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .sorted(Comparator.comparing(DashboardResponse::getUpdatedAt).reversed())
-                    .collect(Collectors.toList());
-            }
+            updated = dashboardStore.update(id, dashboard -> applyPatch(dashboard, patch));
         } catch (IOException e) {
-            logger.error("Error listing dashboards", e);
-            return new ArrayList<>();
+            logger.error("Error patching dashboard: {}", id, e);
+            throw new RuntimeException("Failed to save dashboard: " + e.getMessage(), e);
+        }
+        if (updated == null) {
+            throw new RuntimeException("Dashboard not found: " + id);
+        }
+        return updated;
+    }
+    
+    private void applyPatch(DashboardResponse dashboard, DashboardPatch patch) {
+        if (patch.getName() != null) {
+            dashboard.setName(patch.getName());
+        }
+        Map<String, String> layout = dashboard.getLayout() != null ? new HashMap<>(dashboard.getLayout()) : new HashMap<>();
+        List<WidgetConfig> widgets = dashboard.getWidgets() != null ? new ArrayList<>(dashboard.getWidgets()) : new ArrayList<>();
+        if (patch.getLayout() != null) {
+            patch.getLayout().forEach((widgetId, position) -> {
+                if (position != null) {
+                    layout.put(widgetId, position);
+                } else {
+                    layout.remove(widgetId);
+                }
+            });
+        }
+        if (patch.getWidgets() != null) {
+            for (WidgetConfig widget : patch.getWidgets()) {
+                int existing = -1;
+                for (int i = 0; i < widgets.size() && widget.getId() != null; i++) {
+                    if (widget.getId().equals(widgets.get(i).getId())) {
+                        existing = i;
+                        break;
+                    }
+                }
+                if (existing >= 0) {
+                    widgets.set(existing, widget);
+                } else {
+                    widgets.add(widget);
+                }
+            }
         }
+        if (patch.getRemovedWidgetIds() != null) {
+            Set<String> removed = new HashSet<>(patch.getRemovedWidgetIds());
+            widgets.removeIf(widget -> removed.contains(widget.getId()));
+            layout.keySet().removeAll(removed);
+        }
+        dashboard.setLayout(layout);
+        dashboard.setWidgets(widgets);
+        dashboard.setUpdatedAt(LocalDateTime.now());
+    }
+    
+    /**
+     * Dashboard metadata by most recent update, served from the in-memory index.
+     *
+     * @param offset summaries to skip, 0 if null
+     * @param limit maximum number of summaries, all if null
+     */
+    public List<DashboardSummary> listDashboards(Integer offset, Integer limit) {
+        return dashboardStore.list(offset != null ? offset : 0, limit != null ? limit : -1);
     }
     
     public DashboardResponse getDashboard(String id) {
         try {
-            Path dashboardFile = dashboardsDir.resolve(id + ".json");
-            if (!Files.exists(dashboardFile)) {
+            DashboardResponse dashboard = dashboardStore.get(id);
+            if (dashboard == null) {
                 throw new RuntimeException("Dashboard not found: " + id);
             }
-            
-            return objectMapper.readValue(dashboardFile.toFile(), DashboardResponse.class);
+            return dashboard;
         } catch (Exception e) {
             logger.error("Error loading dashboard: {}", id, e);
             throw new RuntimeException("Failed to load dashboard: " + e.getMessage(), e);
@@ -132,15 +143,10 @@ public class DashboardService {
     
     public void deleteDashboard(String id) {
         try {
-            Path dashboardFile = dashboardsDir.resolve(id + ".json");
-            if (Files.exists(dashboardFile)) {
-                Files.delete(dashboardFile);
-                logger.info("Deleted dashboard: {}", dashboardFile);
-            }
+            dashboardStore.delete(id);
         } catch (IOException e) {
             logger.error("Error deleting dashboard: {}", id, e);
             throw new RuntimeException("Failed to delete dashboard: " + e.getMessage(), e);
         }
     }
 }
-
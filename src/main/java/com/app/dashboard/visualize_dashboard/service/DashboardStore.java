@@ -0,0 +1,345 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.dto.DashboardResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.DashboardSummary;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * File-backed dashboard store ({@code <upload-dir>/dashboards/<id>.json}). Metadata of every
+ * dashboard is read once at startup into an in-memory index that serves listing, and full bodies
+ * go through a byte-bounded LRU of their JSON. Saves update the index and the cache at once, and the
+ * store assumes it is the only writer of the directory.
+ *
+ * <p>Files are written compactly to a temporary sibling, forced to disk and renamed into place, so
+ * a crash leaves either the old or the new version. Writes are deferred by a short delay on a
+ * single writer thread, and repeated saves of one dashboard within the delay (autosave bursts)
+ * collapse into one write of the latest version; pending writes are flushed on shutdown.
+ *
+ * <p>Bodies are cached as JSON bytes rather than objects: each read gets its own copy, so callers
+ * may modify what they are given.
+ */
+@Service
+public class DashboardStore implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStore.class);
+
+    private static final String EXTENSION = ".json";
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private final ObjectMapper objectMapper;
+    private final Path dashboardsDir;
+    private final long maxCachedBytes;
+    private final long writeDelayMillis;
+    private final ScheduledExecutorService writer;
+    private final Map<String, DashboardSummary> index = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, byte[]> bodies = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    // Latest unwritten body per dashboard; presence means a flush is scheduled
+    private final Map<String, byte[]> pendingWrites = new HashMap<>();
+    // Bumped by every save and delete, so a file read outside the lock can tell it may be outdated
+    private long modifications;
+
+    public DashboardStore(ObjectMapper objectMapper,
+                          @Value("${file.upload-dir:./uploads}") String uploadDir,
+                          @Value("${dashboard.cache.max-bytes:8000000}") long maxCachedBytes,
+                          @Value("${dashboard.write-delay-ms:2000}") long writeDelayMillis) {
+        this.objectMapper = objectMapper;
+        this.dashboardsDir = Paths.get(uploadDir, "dashboards");
+        this.maxCachedBytes = maxCachedBytes;
+        this.writeDelayMillis = Math.max(0, writeDelayMillis);
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Create dashboards directory if it doesn't exist
+        try {
+            if (!Files.exists(dashboardsDir)) {
+                Files.createDirectories(dashboardsDir);
+                logger.info("Created dashboards directory: {}", dashboardsDir);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to create dashboards directory", e);
+        }
+        loadIndex();
+    }
+
+    // Streams the top-level metadata fields of each file, skipping layout and widgets
+    private void loadIndex() {
+        if (!Files.isDirectory(dashboardsDir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(dashboardsDir)) {
+            paths.filter(path -> path.getFileName().toString().endsWith(EXTENSION)).forEach(path -> {
+                String id = idOf(path);
+                try {
+                    index.put(id, readSummary(path, id));
+                } catch (IOException e) {
+                    logger.error("Error reading dashboard file: {}", path, e);
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Error listing dashboards", e);
+        }
+        logger.info("Indexed {} dashboard(s) in {}", index.size(), dashboardsDir);
+    }
+
+    private DashboardSummary readSummary(Path path, String id) throws IOException {
+        DashboardSummary summary = new DashboardSummary();
+        summary.setId(id);
+        try (JsonParser parser = objectMapper.getFactory().createParser(path.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Not a dashboard object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name" -> summary.setName(parser.getValueAsString());
+                    case "user" -> summary.setUser(parser.getValueAsString());
+                    case "createdAt" -> summary.setCreatedAt(objectMapper.readValue(parser, LocalDateTime.class));
+                    case "updatedAt" -> summary.setUpdatedAt(objectMapper.readValue(parser, LocalDateTime.class));
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Dashboards by most recent update, from the index.
+     *
+     * @param offset summaries to skip
+     * @param limit maximum number of summaries, or a negative value for all
+     */
+    public List<DashboardSummary> list(int offset, int limit) {
+        Stream<DashboardSummary> sorted = index.values().stream()
+            .sorted(Comparator.comparing(DashboardSummary::getUpdatedAt,
+                Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())))
+            .skip(Math.max(0, offset));
+        return (limit >= 0 ? sorted.limit(limit) : sorted).toList();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // Null when no dashboard has this id
+    public DashboardSummary getSummary(String id) {
+        return index.get(id);
+    }
+
+    // Null when no dashboard has this id
+    public DashboardResponse get(String id) throws IOException {
+        byte[] body = null;
+        while (body == null) {
+            long seen;
+            synchronized (this) {
+                if (!index.containsKey(id)) {
+                    return null;
+                }
+                body = bodies.get(id);
+                if (body == null) {
+                    body = pendingWrites.get(id); // An evicted body may not have reached the file yet
+                }
+                if (body != null) {
+                    cache(id, body);
+                    break;
+                }
+                seen = modifications;
+            }
+            // Misses read the file without the lock, so other reads and saves are not held up by the disk
+            byte[] read;
+            IOException failure = null;
+            try {
+                read = Files.readAllBytes(fileOf(id));
+            } catch (IOException e) {
+                read = null;
+                failure = e;
+            }
+            synchronized (this) {
+                // A save or delete in the meantime may have replaced or removed the file; look again
+                if (modifications == seen) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    cache(id, read);
+                    body = read;
+                }
+            }
+        }
+        return objectMapper.readValue(body, DashboardResponse.class);
+    }
+
+    // Visible to readers at once; the file is written after the write delay
+    public synchronized void save(DashboardResponse dashboard) throws IOException {
+        String id = dashboard.getId();
+        byte[] body = objectMapper.writeValueAsBytes(dashboard);
+        modifications++;
+        index.put(id, new DashboardSummary(dashboard));
+        cache(id, body);
+        if (pendingWrites.put(id, body) == null) {
+            writer.schedule(() -> flush(id), writeDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies a change to the current version of a dashboard and saves it, atomically with respect
+     * to other saves. Returns the updated dashboard, or null when no dashboard has this id.
+     */
+    public DashboardResponse update(String id, Consumer<DashboardResponse> change) throws IOException {
+        if (get(id) == null) { // Brings the body into the cache without holding the lock
+            return null;
+        }
+        synchronized (this) {
+            DashboardResponse dashboard = get(id);
+            if (dashboard == null) {
+                return null;
+            }
+            change.accept(dashboard);
+            save(dashboard);
+            return dashboard;
+        }
+    }
+
+    // Removes the file on the writer thread, after any write of this dashboard already in progress
+    public void delete(String id) throws IOException {
+        synchronized (this) {
+            modifications++;
+            index.remove(id);
+            uncache(id);
+            pendingWrites.remove(id);
+        }
+        Path dashboardFile = fileOf(id);
+        try {
+            if (writer.submit(() -> Files.deleteIfExists(dashboardFile)).get()) {
+                logger.info("Deleted dashboard: {}", dashboardFile);
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while deleting " + dashboardFile, e);
+        }
+    }
+
+    // Runs on the writer thread; a failed write is retried unless a newer save or a delete came in
+    private void flush(String id) {
+        byte[] body;
+        synchronized (this) {
+            body = pendingWrites.remove(id);
+        }
+        if (body == null) {
+            return; // Deleted, or already written by an earlier flush
+        }
+        try {
+            write(fileOf(id), body);
+            logger.debug("Dashboard {} written ({} bytes)", id, body.length);
+        } catch (IOException e) {
+            logger.error("Failed to write dashboard {}, retrying", id, e);
+            synchronized (this) {
+                if (index.containsKey(id) && pendingWrites.putIfAbsent(id, body) == null) {
+                    writer.schedule(() -> flush(id), Math.max(writeDelayMillis, RETRY_DELAY_MILLIS), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    // Writes to a temporary sibling, forces it to disk and moves it into place
+    private static void write(Path path, byte[] body) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Cancels the delayed flushes and writes every pending dashboard now
+    @Override
+    public void destroy() throws InterruptedException {
+        writer.shutdownNow();
+        writer.awaitTermination(10, TimeUnit.SECONDS); // Lets a write in progress finish
+        Map<String, byte[]> pending;
+        synchronized (this) {
+            pending = new HashMap<>(pendingWrites);
+            pendingWrites.clear();
+        }
+        for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+            try {
+                write(fileOf(entry.getKey()), entry.getValue());
+            } catch (IOException e) {
+                logger.error("Failed to write dashboard {} on shutdown", entry.getKey(), e);
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.info("Flushed {} pending dashboard write(s)", pending.size());
+        }
+    }
+
+    // Callers hold the lock
+    private void cache(String id, byte[] body) {
+        uncache(id);
+        if (body.length > maxCachedBytes) {
+            return;
+        }
+        bodies.put(id, body);
+        cachedBytes += body.length;
+        Iterator<Map.Entry<String, byte[]>> eldest = bodies.entrySet().iterator();
+        while (cachedBytes > maxCachedBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    private void uncache(String id) {
+        byte[] previous = bodies.remove(id);
+        if (previous != null) {
+            cachedBytes -= previous.length;
+        }
+    }
+
+    private Path fileOf(String id) {
+        return dashboardsDir.resolve(id + EXTENSION);
+    }
+
+    private static String idOf(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.substring(0, fileName.length() - EXTENSION.length());
+    }
+}
@@ -1,60 +1,73 @@
 package com.app.dashboard.visualize_dashboard.service;
 
+import com.app.dashboard.visualize_dashboard.engine.BitmapIndex;
+import com.app.dashboard.visualize_dashboard.engine.ChunkedExecutor;
+import com.app.dashboard.visualize_dashboard.engine.CompiledFilter;
+import com.app.dashboard.visualize_dashboard.engine.DateParser;
+import com.app.dashboard.visualize_dashboard.engine.GroupByEngine;
+import com.app.dashboard.visualize_dashboard.engine.RollupCube;
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.StringColumn;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.IntToDoubleFunction;
 import java.util.stream.Collectors;
-import org.apache.poi.ss.usermodel.DateUtil;
 
 @Service
 public class DataAggregationService {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DataAggregationService.class);
 
+    // Filters, group-bys and sums over large tables run in row chunks on this pool
+    private final ChunkedExecutor executor;
+
+    public DataAggregationService(ChunkedExecutor executor) {
+        this.executor = executor;
+    }
     
-    public Map<String, Object> aggregate(List<Map<String, Object>> data, 
+    public Map<String, Object> aggregate(DataTable table,
+                                         RowSelection rows,
                                          List<String> groupBy, 
                                          String operation,
                                          String valueColumn) {
         if ("revenue_loss".equalsIgnoreCase(operation)) {
-            return calculateRevenueLoss(data, groupBy);
+            return calculateRevenueLoss(table, rows, groupBy);
         }
 
-        if (data == null || data.isEmpty()) {
+        if (rows == null || rows.isEmpty()) {
             Map<String, Object> emptyResult = new HashMap<>();
             emptyResult.put("labels", Collections.emptyList());
             emptyResult.put("values", Collections.emptyList());
             return emptyResult;
         }
         
+        String op = operation != null ? operation.toLowerCase() : "count";
+        IntToDoubleFunction rowValue = "count".equals(op) ? null : rowValue(table, valueColumn);
+        
         if (groupBy == null || groupBy.isEmpty()) {
-            // No grouping - single aggregate value
-            Object value = performOperation(data, operation, valueColumn);
+            // No grouping - single aggregate value over the column's primitive values
+            int count = rows.cardinality();
+            double sum = "count".equals(op) ? 0.0 : sumValues(table, rows, valueColumn, count);
+            Object value = performOperation(op, count, sum);
             Map<String, Object> result = new HashMap<>();
             result.put("value", value);
             return result;
         }
         
-        // Group data
-        Map<String, List<Map<String, Object>>> grouped = data.stream()
-            .collect(Collectors.groupingBy(row -> {
-                return groupBy.stream()
-                    .map(col -> String.valueOf(row.getOrDefault(col, "")))
-                    .collect(Collectors.joining("|"));
-            }));
+        // Group on dictionary codes; missing group columns contribute an empty key part
+        GroupByEngine.GroupedResult grouped = GroupByEngine.aggregate(table, rows, groupBy, "", rowValue, executor);
         
-        List<String> labels = new ArrayList<>();
-        List<Object> values = new ArrayList<>();
+        List<String> labels = new ArrayList<>(grouped.getGroupCount());
+        List<Object> values = new ArrayList<>(grouped.getGroupCount());
         
-        for (Map.Entry<String, List<Map<String, Object>>> entry : grouped.entrySet()) {
-            String label = entry.getKey().replace("|", " - ");
+        for (int group = 0; group < grouped.getGroupCount(); group++) {
+            String label = grouped.getLabel(group, " - ");
             if (label.isEmpty()) label = "N/A";
             labels.add(label);
-            Object value = performOperation(entry.getValue(), operation, valueColumn);
-            values.add(value);
+            values.add(performOperation(op, (int) grouped.getCount(group), grouped.getSum(group)));
         }
         
         Map<String, Object> result = new HashMap<>();
@@ -63,159 +76,336 @@ public class DataAggregationService {
         return result;
     }
     
-    private Object performOperation(List<Map<String, Object>> data, 
-                                    String operation, 
-                                    String valueColumn) {
-        if (data.isEmpty()) return 0;
+    /**
+     * Answers the query from the smallest precomputed rollup covering its grouping, filters and
+     * value column, without filtering or reading rows. Returns null when no rollup covers it, in
+     * which case the caller filters and calls {@link #aggregate}; the result shapes are identical.
+     */
+    public Map<String, Object> aggregateFromRollup(DataTable table,
+                                                   Map<String, Object> filters,
+                                                   List<String> groupBy,
+                                                   String operation,
+                                                   String valueColumn) {
+        List<RollupCube> rollups = table.getRollups();
+        String op = operation != null ? operation.toLowerCase() : "count";
+        if (rollups.isEmpty() || "revenue_loss".equals(op)) {
+            return null;
+        }
         
-        return switch (operation != null ? operation.toLowerCase() : "count") {
-            case "count" -> data.size();
-            case "sum" -> {
-                yield data.stream()
-                    .mapToDouble(row -> {
-                        Object val = valueColumn != null ? row.get(valueColumn) : 1;
-                        return parseDouble(val);
-                    })
-                    .sum();
+        List<Column> groupColumns = new ArrayList<>();
+        if (groupBy != null) {
+            for (String name : groupBy) {
+                Column column = table.getColumn(name);
+                if (column == null) return null;
+                groupColumns.add(column);
+            }
+        }
+        List<Column> filterColumns = new ArrayList<>();
+        List<Object> filterValues = new ArrayList<>();
+        if (filters != null) {
+            for (Map.Entry<String, Object> filter : filters.entrySet()) {
+                if (!CompiledFilter.isActive(filter.getValue())) continue;
+                Column column = table.findColumnIgnoreCase(filter.getKey());
+                if (column == null) return null;
+                filterColumns.add(column);
+                filterValues.add(filter.getValue());
             }
-            case "avg", "average" -> {
-                double sum = data.stream()
-                    .mapToDouble(row -> {
-                        Object val = valueColumn != null ? row.get(valueColumn) : 1;
-                        return parseDouble(val);
-                    })
-                    .sum();
-                yield sum / data.size();
+        }
+        // A null value column sums 1 per row and a missing one sums 0; neither needs a measure
+        Column measureColumn = "count".equals(op) || valueColumn == null ? null : table.getColumn(valueColumn);
+        
+        RollupCube cube = null;
+        for (RollupCube candidate : rollups) {
+            if ((cube == null || candidate.getCellCount() < cube.getCellCount())
+                    && covers(candidate, groupColumns) && covers(candidate, filterColumns)
+                    && (measureColumn == null || candidate.measureIndex(measureColumn) >= 0)) {
+                cube = candidate;
             }
-            default -> data.size();
+        }
+        if (cube == null) {
+            return null;
+        }
+        
+        int[] groupDims = new int[groupColumns.size()];
+        for (int i = 0; i < groupDims.length; i++) {
+            groupDims[i] = cube.dimensionIndex(groupColumns.get(i));
+        }
+        boolean[][] allowedCodes = new boolean[cube.getDimensionCount()][];
+        for (int i = 0; i < filterColumns.size(); i++) {
+            int d = cube.dimensionIndex(filterColumns.get(i));
+            boolean[] matching = CompiledFilter.matchingCodes(cube.getDimension(d), filterValues.get(i));
+            if (allowedCodes[d] != null) {
+                for (int code = 0; code < matching.length; code++) {
+                    matching[code] &= allowedCodes[d][code];
+                }
+            }
+            allowedCodes[d] = matching;
+        }
+        int measure = measureColumn != null ? cube.measureIndex(measureColumn) : -1;
+        boolean sumIsCount = !"count".equals(op) && valueColumn == null;
+        RollupCube.Groups groups = cube.aggregate(groupDims, allowedCodes, measure);
+        
+        Map<String, Object> result = new HashMap<>();
+        if (groups.getGroupCount() == 0) {
+            result.put("labels", Collections.emptyList());
+            result.put("values", Collections.emptyList());
+            return result;
+        }
+        if (groupDims.length == 0) {
+            int count = (int) groups.getCount(0);
+            result.put("value", performOperation(op, count, sumIsCount ? count : groups.getSum(0)));
+            return result;
+        }
+        List<String> labels = new ArrayList<>(groups.getGroupCount());
+        List<Object> values = new ArrayList<>(groups.getGroupCount());
+        for (int group = 0; group < groups.getGroupCount(); group++) {
+            String label = groups.getLabel(group, " - ");
+            labels.add(label.isEmpty() ? "N/A" : label);
+            int count = (int) groups.getCount(group);
+            values.add(performOperation(op, count, sumIsCount ? count : groups.getSum(group)));
+        }
+        result.put("labels", labels);
+        result.put("values", values);
+        return result;
+    }
+    
+    private static boolean covers(RollupCube cube, List<Column> columns) {
+        for (Column column : columns) {
+            if (cube.dimensionIndex(column) < 0) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Evaluates several operation/value-column pairs over the same rows and grouping, returning one
+     * result per pair in the shape of {@link #aggregate}. Grouped measures share a single group-by
+     * scan, with one sum accumulator per distinct value column.
+     */
+    public List<Map<String, Object>> aggregateAll(DataTable table,
+                                                  RowSelection rows,
+                                                  List<String> groupBy,
+                                                  List<String> operations,
+                                                  List<String> valueColumns) {
+        int measures = operations.size();
+        List<Map<String, Object>> results = new ArrayList<>(measures);
+        if (rows == null || rows.isEmpty() || groupBy == null || groupBy.isEmpty()) {
+            // Ungrouped measures are a count and a tight per-column sum each; nothing to fuse
+            for (int i = 0; i < measures; i++) {
+                results.add(aggregate(table, rows, groupBy, operations.get(i), valueColumns.get(i)));
+            }
+            return results;
+        }
+        
+        String[] ops = new String[measures];
+        int[] sumSlots = new int[measures];
+        List<IntToDoubleFunction> valueFunctions = new ArrayList<>();
+        Map<String, Integer> slotsByColumn = new HashMap<>();
+        for (int i = 0; i < measures; i++) {
+            ops[i] = operations.get(i) != null ? operations.get(i).toLowerCase() : "count";
+            sumSlots[i] = -1;
+            if ("count".equals(ops[i]) || "revenue_loss".equals(ops[i])) {
+                continue;
+            }
+            String valueColumn = valueColumns.get(i);
+            Integer slot = slotsByColumn.get(valueColumn);
+            if (slot == null) {
+                slot = valueFunctions.size();
+                valueFunctions.add(rowValue(table, valueColumn));
+                slotsByColumn.put(valueColumn, slot);
+            }
+            sumSlots[i] = slot;
+        }
+        
+        GroupByEngine.GroupedResult grouped = GroupByEngine.aggregate(table, rows, groupBy, "",
+            valueFunctions.toArray(new IntToDoubleFunction[0]), executor);
+        List<String> labels = new ArrayList<>(grouped.getGroupCount());
+        for (int group = 0; group < grouped.getGroupCount(); group++) {
+            String label = grouped.getLabel(group, " - ");
+            labels.add(label.isEmpty() ? "N/A" : label);
+        }
+        
+        for (int i = 0; i < measures; i++) {
+            if ("revenue_loss".equals(ops[i])) {
+                results.add(calculateRevenueLoss(table, rows, groupBy)); // Its own date-dependent pass
+                continue;
+            }
+            List<Object> values = new ArrayList<>(grouped.getGroupCount());
+            for (int group = 0; group < grouped.getGroupCount(); group++) {
+                double sum = sumSlots[i] >= 0 ? grouped.getSum(group, sumSlots[i]) : 0.0;
+                values.add(performOperation(ops[i], (int) grouped.getCount(group), sum));
+            }
+            Map<String, Object> result = new HashMap<>();
+            result.put("labels", labels);
+            result.put("values", values);
+            results.add(result);
+        }
+        return results;
+    }
+    
+    private Object performOperation(String operation, int count, double sum) {
+        if (count == 0) return 0;
+        
+        return switch (operation) {
+            case "count" -> count;
+            case "sum" -> sum;
+            case "avg", "average" -> sum / count;
+            default -> count;
         };
     }
     
-    private double parseDouble(Object value) {
-        if (value == null) return 0.0;
-        if (value instanceof Number) {
-            return ((Number) value).doubleValue();
-        }
-        try {
-            return Double.parseDouble(value.toString().replaceAll("[^0-9.-]", ""));
-        } catch (NumberFormatException e) {
+    private double sumValues(DataTable table, RowSelection rows, String valueColumn, int count) {
+        if (valueColumn == null) {
+            return count; // Each row counts as 1
+        }
+        Column column = table.getColumn(valueColumn);
+        if (column == null) {
             return 0.0;
         }
+        return executor.execute(rows.getRowCount(), (fromRow, toRow) -> column.sum(rows, fromRow, toRow), Double::sum);
     }
     
-    public List<Map<String, Object>> filter(List<Map<String, Object>> data, 
-                                            Map<String, Object> filters) {
-        if (filters == null || filters.isEmpty()) {
-            return data;
+    private IntToDoubleFunction rowValue(DataTable table, String valueColumn) {
+        if (valueColumn == null) {
+            return row -> 1.0; // Each row counts as 1
         }
-        
-        return data.stream()
-            .filter(row -> {
-                for (Map.Entry<String, Object> filter : filters.entrySet()) {
-                    Object rowValue = getIgnoreCase(row, filter.getKey());
-                    Object filterValue = filter.getValue();
-                    
-                    if (filterValue == null || filterValue.toString().trim().isEmpty()) {
-                        continue; // Skip empty filters
-                    }
-                    
-                    if (rowValue == null) {
-                        return false;
-                    }
-                    
-                    if (filterValue instanceof List) {
-                        @SuppressWarnings("unchecked")
-                        List<Object> filterValues = (List<Object>) filterValue;
-                        if (filterValues.stream().noneMatch(v -> v.toString().equalsIgnoreCase(rowValue.toString()))) {
-                            return false;
-                        }
-                    } else {
-                        if (!rowValue.toString().equalsIgnoreCase(filterValue.toString())) {
-                            return false;
-                        }
-                    }
-                }
-                return true;
-            })
-            .collect(Collectors.toList());
+        Column column = table.getColumn(valueColumn);
+        if (column == null) {
+            return row -> 0.0;
+        }
+        return column::getDouble;
     }
     
-    public Map<String, Long> getDistribution(List<Map<String, Object>> data, String column) {
-        return data.stream()
-            .collect(Collectors.groupingBy(
-                row -> {
-                    Object value = row.get(column);
-                    return value != null ? value.toString() : "N/A";
-                },
-                Collectors.counting()
-            ));
+    // Compiles the filters once and returns the bitmap of matching rows
+    public RowSelection filter(DataTable table, Map<String, Object> filters) {
+        return CompiledFilter.compile(table, filters).evaluate(executor);
     }
-
-    public List<Object> getUniqueValues(List<Map<String, Object>> data, String column) {
-        if (data == null || data.isEmpty() || column == null || column.isEmpty()) {
-            return Collections.emptyList();
+    
+    public RowSelection allRows(DataTable table) {
+        return RowSelection.all(table.getRowCount());
+    }
+    
+    public Map<String, Long> getDistribution(DataTable table, String column) {
+        Map<String, Long> distribution = new HashMap<>();
+        Column target = table.getColumn(column);
+        if (target == null) {
+            if (!table.isEmpty()) {
+                distribution.put("N/A", (long) table.getRowCount());
+            }
+            return distribution;
         }
-
-        return data.stream()
-                .map(row -> getIgnoreCase(row, column))
-                .filter(Objects::nonNull)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        
+        BitmapIndex index = table.getIndex(target);
+        if (index != null) {
+            for (int id = 0; id < index.getCardinality(); id++) {
+                distribution.merge(index.getValue(id), (long) index.getCount(id), Long::sum);
+            }
+            return distribution;
+        }
+        
+        if (target instanceof StringColumn stringColumn) {
+            // Count dictionary codes per chunk, then resolve each code to its value once
+            long[] counts = executor.execute(table.getRowCount(), (fromRow, toRow) -> {
+                long[] partial = new long[stringColumn.getCardinality()];
+                for (int row = fromRow; row < toRow; row++) {
+                    partial[stringColumn.getCode(row)]++;
+                }
+                return partial;
+            }, (left, right) -> {
+                for (int code = 0; code < left.length; code++) {
+                    left[code] += right[code];
+                }
+                return left;
+            });
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    distribution.merge(stringColumn.getDictionaryValue(code), counts[code], Long::sum);
+                }
+            }
+            return distribution;
+        }
+        
+        return executor.execute(table.getRowCount(), (fromRow, toRow) -> {
+            Map<String, Long> partial = new HashMap<>();
+            for (int row = fromRow; row < toRow; row++) {
+                partial.merge(target.getString(row), 1L, Long::sum);
+            }
+            return partial;
+        }, (left, right) -> {
+            right.forEach((value, count) -> left.merge(value, count, Long::sum));
+            return left;
+        });
     }
 
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
-        DateTimeFormatter.ofPattern("M/d/yy"),
-        DateTimeFormatter.ofPattern("MM/dd/yy"),
-        DateTimeFormatter.ofPattern("M/d/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("d-M-yyyy"),
-        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-        DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH),
-        DateTimeFormatter.ofPattern("d-MMM-yy", Locale.ENGLISH)
-    );
+    public List<Object> getUniqueValues(DataTable table, String column) {
+        if (table == null || table.isEmpty() || column == null || column.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-    private LocalDate parseDate(String dateStr) {
-        if (dateStr == null || dateStr.trim().isEmpty()) {
-            return null;
+        Column target = table.findColumnIgnoreCase(column);
+        if (target == null) {
+            return Collections.emptyList();
         }
-        String trimmedDateStr = dateStr.trim();
 
-        // 1. Try to parse as a numeric Excel date
-        try {
-            double excelDate = Double.parseDouble(trimmedDateStr);
-            java.util.Date utilDate = DateUtil.getJavaDate(excelDate);
-            return utilDate.toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-        } catch (NumberFormatException e) {
-            // Not a number, fall through to string parsing
+        BitmapIndex index = table.getIndex(target);
+        if (index != null) {
+            return new ArrayList<>(index.getSortedValues());
         }
 
-        // 2. Try to parse using string formatters
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(trimmedDateStr, formatter);
-            } catch (DateTimeParseException e) {
-                // Try the next format
+        Set<String> unique = new TreeSet<>();
+        if (target instanceof StringColumn stringColumn) {
+            for (int code = 0; code < stringColumn.getCardinality(); code++) {
+                unique.add(stringColumn.getDictionaryValue(code));
             }
+        } else {
+            unique = executor.execute(table.getRowCount(), (fromRow, toRow) -> {
+                Set<String> partial = new TreeSet<>();
+                for (int row = fromRow; row < toRow; row++) {
+                    partial.add(target.getString(row));
+                }
+                return partial;
+            }, (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
         }
-        return null; // Return null if all formats fail
+        return new ArrayList<>(unique);
     }
 
-    private Map<String, Object> calculateRevenueLoss(List<Map<String, Object>> data, List<String> groupBy) {
-        if (data == null || data.isEmpty()) {
+    private Map<String, Object> calculateRevenueLoss(DataTable table, RowSelection rows, List<String> groupBy) {
+        if (rows == null || rows.isEmpty()) {
             return Map.of("labels", List.of(), "values", List.of());
         }
 
-        List<Integer> invalidRowNumbers = new ArrayList<>();
+        // One pass over pre-parsed epoch days and bill rates against a single as-of date
+        Column billDateColumn = table.findColumnIgnoreCase("Expected Billing start date");
+        Column billRateColumn = table.findColumnIgnoreCase("Bill Rate");
+        long asOfDay = LocalDate.now().toEpochDay();
+        double[] rowLoss = new double[table.getRowCount()];
+        if (billDateColumn != null) {
+            billDateColumn.getEpochDay(rows.nextSetBit(0)); // Parse the dates once before chunks share them
+        }
+        // Chunks write disjoint rows of rowLoss; totals and invalid rows are merged in row order
+        LossPartial loss = executor.execute(rows.getRowCount(), (fromRow, toRow) -> {
+            LossPartial partial = new LossPartial();
+            for (int row = rows.nextSetBit(fromRow); row >= 0 && row < toRow; row = rows.nextSetBit(row + 1)) {
+                int startDay = billDateColumn != null ? billDateColumn.getEpochDay(row) : DateParser.NO_DATE;
+                if (startDay == DateParser.NO_DATE || billRateColumn == null || billRateColumn.isBlank(row)) {
+                    partial.invalidRowNumbers.add(table.getRowNumber(row));
+                    continue;
+                }
+                if (startDay < asOfDay) {
+                    rowLoss[row] = (asOfDay - startDay) * billRateColumn.getDouble(row);
+                    partial.total += rowLoss[row];
+                }
+                // A start date in the future has no loss yet. Not an error.
+            }
+            return partial;
+        }, LossPartial::merge);
+        double totalLoss = loss.total;
+        List<Integer> invalidRowNumbers = loss.invalidRowNumbers;
 
         // Handle no grouping - calculate total loss
         if (groupBy == null || groupBy.isEmpty() || groupBy.get(0).isEmpty()) {
-            double totalLoss = 0.0;
-            for (Map<String, Object> row : data) {
-                totalLoss += calculateRowLoss(row, invalidRowNumbers);
-            }
-            
             Map<String, Object> result = new HashMap<>();
             result.put("labels", List.of("Total Revenue Loss"));
             result.put("values", List.of(totalLoss));
@@ -223,25 +413,15 @@ public class DataAggregationService {
             return result;
         }
 
-        // Handle grouping
-        Map<String, List<Map<String, Object>>> groupedData = data.stream()
-            .collect(Collectors.groupingBy(row -> 
-                groupBy.stream()
-                       .map(col -> String.valueOf(row.getOrDefault(col, "N/A")))
-                       .collect(Collectors.joining(" - "))
-            ));
-
-        List<String> labels = new ArrayList<>();
-        List<Double> values = new ArrayList<>();
+        // Handle grouping; missing group columns contribute "N/A" to the label
+        GroupByEngine.GroupedResult grouped = GroupByEngine.aggregate(table, rows, groupBy, "N/A", row -> rowLoss[row], executor);
 
-        groupedData.forEach((group, rows) -> {
-            double totalLoss = 0.0;
-            for (Map<String, Object> row : rows) {
-                totalLoss += calculateRowLoss(row, invalidRowNumbers);
-            }
-            labels.add(group);
-            values.add(totalLoss);
-        });
+        List<String> labels = new ArrayList<>(grouped.getGroupCount());
+        List<Double> values = new ArrayList<>(grouped.getGroupCount());
+        for (int group = 0; group < grouped.getGroupCount(); group++) {
+            labels.add(grouped.getLabel(group, " - "));
+            values.add(grouped.getSum(group));
+        }
 
         Map<String, Object> result = new HashMap<>();
         result.put("labels", labels);
@@ -249,54 +429,22 @@ public class DataAggregationService {
         addWarningIfNecessary(result, invalidRowNumbers);
         return result;
     }
+    
+    private static final class LossPartial {
+        private final List<Integer> invalidRowNumbers = new ArrayList<>();
+        private double total;
 
-    private double calculateRowLoss(Map<String, Object> row, List<Integer> invalidRowNumbers) {
-        Object billDateObj = getIgnoreCase(row, "Expected Billing start date");
-        Object billRateObj = getIgnoreCase(row, "Bill Rate");
-        Integer rowNum = (Integer) row.get("__row_number__");
-
-        if (billDateObj == null || billDateObj.toString().trim().isEmpty()) {
-            logger.warn("DEBUG: Row {}: 'Expected Billing start date' is empty. Date Value='{}', Bill Rate Value='{}'", rowNum, billDateObj, billRateObj);
-            if (rowNum != null) invalidRowNumbers.add(rowNum);
-            return 0.0;
-        }
-
-        LocalDate startDate = parseDate(billDateObj.toString());
-
-        if (startDate == null) {
-            logger.warn("DEBUG: Row {}: Failed to parse date. Date Value='{}', Bill Rate Value='{}'", rowNum, billDateObj, billRateObj);
-            if (rowNum != null) invalidRowNumbers.add(rowNum);
-            return 0.0;
-        }
-
-        if (billRateObj == null || billRateObj.toString().isEmpty()) {
-            logger.warn("DEBUG: Row {}: 'Bill Rate' is null or empty. Date Value='{}', Bill Rate Value='{}'", rowNum, billDateObj, billRateObj);
-            if (rowNum != null) invalidRowNumbers.add(rowNum);
-            return 0.0;
+        private LossPartial merge(LossPartial next) {
+            invalidRowNumbers.addAll(next.invalidRowNumbers);
+            total += next.total;
+            return this;
         }
-
-        try {
-            double billRate = parseDouble(billRateObj);
-            LocalDate today = LocalDate.now();
-            
-            if (startDate.isBefore(today)) {
-                long daysBetween = ChronoUnit.DAYS.between(startDate, today);
-                return daysBetween * billRate;
-            } else {
-                return 0.0; // Date is in the future, no loss yet. Not an error.
-            }
-        } catch (NumberFormatException e) {
-            logger.warn("DEBUG: Row {}: Failed to parse 'Bill Rate' into a number. Date Value='{}', Bill Rate Value='{}'", rowNum, billDateObj, billRateObj);
-             if (rowNum != null) {
-                invalidRowNumbers.add(rowNum);
-            }
-        }
-        return 0.0;
     }
     
     private void addWarningIfNecessary(Map<String, Object> result, List<Integer> invalidRowNumbers) {
         if (!invalidRowNumbers.isEmpty()) {
             List<Integer> sortedUniqueInvalidRows = invalidRowNumbers.stream().distinct().sorted().collect(Collectors.toList());
+            logger.debug("Revenue loss skipped {} row(s) with a missing or invalid billing date or bill rate", sortedUniqueInvalidRows.size());
             
             String rowNumbersString = sortedUniqueInvalidRows.stream()
                                                        .limit(5)
@@ -311,17 +459,4 @@ public class DataAggregationService {
             result.put("invalidRowNumbers", sortedUniqueInvalidRows);
         }
     }
-
-    private Object getIgnoreCase(Map<String, Object> map, String key) {
-        logger.debug("getIgnoreCase: Searching for key '{}'. Available keys: {}", key, map.keySet());
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            logger.debug("getIgnoreCase: Comparing map key '{}' with search key '{}'", entry.getKey(), key);
-            if (entry.getKey().trim().equalsIgnoreCase(key)) {
-                logger.debug("getIgnoreCase: Match found for key '{}'", key);
-                return entry.getValue();
-            }
-        }
-        logger.warn("getIgnoreCase: No match found for key '{}' in map with keys {}", key, map.keySet());
-        return null;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.table.DatasetSnapshot;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports which datasets are loaded. OUT_OF_SERVICE while the startup loader is still restoring
+ * files, so the readiness group can hold traffic until the data is warm.
+ */
+@Component
+public class DatasetsHealthIndicator implements HealthIndicator {
+
+    private final FileService fileService;
+
+    public DatasetsHealthIndicator(FileService fileService) {
+        this.fileService = fileService;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> loaded = new TreeMap<>();
+        for (DatasetSnapshot snapshot : fileService.getLoadedDatasets().values()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("rows", snapshot.getTable().getRowCount());
+            details.put("version", snapshot.getVersion());
+            details.put("loadedAt", snapshot.getLoadedAt().toString());
+            loaded.put(snapshot.getType(), details);
+        }
+        Health.Builder builder = fileService.isWarmingUp() ? Health.outOfService() : Health.up();
+        return builder
+            .withDetail("loaded", loaded)
+            .withDetail("pending", fileService.getPendingTypes())
+            .build();
+    }
+}
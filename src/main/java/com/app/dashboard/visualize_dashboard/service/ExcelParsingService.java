@@ -1,7 +1,10 @@
 package com.app.dashboard.visualize_dashboard.service;
 
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DataTableBuilder;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.util.IOUtils;
 import org.apache.poi.ooxml.util.SAXHelper;
@@ -13,24 +16,33 @@ import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.XMLReader;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class ExcelParsingService {
+public class ExcelParsingService implements DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(ExcelParsingService.class);
 
@@ -43,7 +55,35 @@ public class ExcelParsingService {
         ZipSecureFile.setMinInflateRatio(0.001);
     }
 
-    public Map<String, Object> parseExcelFile(String filePath) throws IOException {
+    // Rows between progress callbacks
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    // Sheets of one workbook are parsed on these workers. With no idle worker the submitting thread
+    // parses the sheet itself, so nested use from the ingestion pool can never deadlock.
+    private final ThreadPoolExecutor sheetExecutor;
+
+    public ExcelParsingService(@Value("${ingestion.sheet-parallelism:0}") int sheetParallelism) {
+        int threads = sheetParallelism > 0 ? sheetParallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sheetExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "sheet-parse-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.sheetExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy() {
+        sheetExecutor.shutdownNow();
+    }
+
+    public DataTable parseExcelFile(String filePath) throws IOException {
+        return parseExcelFile(filePath, ParseProgressListener.NONE);
+    }
+
+    public DataTable parseExcelFile(String filePath, ParseProgressListener progressListener) throws IOException {
         logger.info("Parsing Excel file with SAX: {}", filePath);
         try (OPCPackage opcPackage = OPCPackage.open(filePath, PackageAccess.READ)) {
             ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
@@ -52,31 +92,91 @@ public class ExcelParsingService {
             XSSFReader.SheetIterator iter = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
 
             if (iter.hasNext()) { // Process only the first sheet
-                try (InputStream stream = iter.next()) {
-                    SheetContentsHandlerImpl handler = new SheetContentsHandlerImpl();
-                    DataFormatter formatter = new DataFormatter();
-                    XSSFSheetXMLHandler sheetHandler = new XSSFSheetXMLHandler(styles, sharedStrings, handler, formatter, false);
-
-                    XMLReader sheetParser = SAXHelper.newXMLReader();
-                    sheetParser.setContentHandler(sheetHandler);
-                    
-                    InputSource sheetSource = new InputSource(stream);
-                    sheetParser.parse(sheetSource);
-                    
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("columns", handler.getColumns());
-                    result.put("rows", handler.getRows());
-                    logger.info("Parsed {} rows with {} columns from the first sheet using SAX", handler.getRows().size(), handler.getColumns().size());
-                    return result;
+                InputStream sheetStream = iter.next();
+                progressListener.onBytesTotal(sheetSize(iter));
+                DataTable table = parseSheet(sheetStream, styles, sharedStrings, progressListener);
+                logger.info("Parsed {} rows with {} columns from the first sheet using SAX", table.getRowCount(), table.getColumnNames().size());
+                return table;
+            }
+        } catch (Exception e) {
+            throw new IOException("Failed to parse Excel file with SAX", e);
+        }
+        return DataTable.empty(); // Return an empty table if no sheets are found
+    }
+
+    /**
+     * Parses every sheet of the workbook concurrently, keyed by sheet name in workbook order. The
+     * shared strings and styles are read once and shared read-only by all sheet workers.
+     * Progress reports the totals across sheets.
+     */
+    public Map<String, DataTable> parseWorkbook(String filePath, ParseProgressListener progressListener) throws IOException {
+        logger.info("Parsing all sheets of Excel file with SAX: {}", filePath);
+        try (OPCPackage opcPackage = OPCPackage.open(filePath, PackageAccess.READ)) {
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+            XSSFReader xssfReader = new XSSFReader(opcPackage);
+            StylesTable styles = xssfReader.getStylesTable();
+            XSSFReader.SheetIterator iter = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+
+            Map<String, InputStream> sheetStreams = new LinkedHashMap<>();
+            long bytesTotal = 0;
+            while (iter.hasNext()) {
+                sheetStreams.put(iter.getSheetName(), iter.next());
+                long size = sheetSize(iter);
+                bytesTotal = bytesTotal < 0 || size < 0 ? -1 : bytesTotal + size;
+            }
+            progressListener.onBytesTotal(bytesTotal);
+
+            AtomicLong totalRows = new AtomicLong();
+            AtomicLong totalBytes = new AtomicLong();
+            Map<String, Future<DataTable>> pending = new LinkedHashMap<>();
+            try {
+                for (Map.Entry<String, InputStream> sheet : sheetStreams.entrySet()) {
+                    InputStream sheetStream = sheet.getValue();
+                    ParseProgressListener sheetListener = new SheetProgress(totalRows, totalBytes, progressListener);
+                    pending.put(sheet.getKey(),
+                        sheetExecutor.submit(() -> parseSheet(sheetStream, styles, sharedStrings, sheetListener)));
+                }
+
+                Map<String, DataTable> tables = new LinkedHashMap<>();
+                for (Map.Entry<String, Future<DataTable>> entry : pending.entrySet()) {
+                    tables.put(entry.getKey(), entry.getValue().get());
                 }
+                logger.info("Parsed {} sheets with {} rows in total using SAX", tables.size(), totalRows.get());
+                return tables;
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } finally {
+                pending.values().forEach(future -> future.cancel(true));
             }
         } catch (Exception e) {
             throw new IOException("Failed to parse Excel file with SAX", e);
         }
-        return new HashMap<>(); // Return empty map if no sheets are found
     }
 
-    public Map<String, Object> parseExcelFile(InputStream inputStream) throws IOException {
+    // Uncompressed size of the sheet part the iterator last returned, the unit progress is counted in
+    private static long sheetSize(XSSFReader.SheetIterator iter) {
+        PackagePart part = iter.getSheetPart();
+        return part != null ? part.getSize() : -1;
+    }
+
+    private DataTable parseSheet(InputStream sheetStream, StylesTable styles, ReadOnlySharedStringsTable sharedStrings,
+                                 ParseProgressListener progressListener) throws Exception {
+        try (CountingInputStream stream = new CountingInputStream(sheetStream)) {
+            SheetContentsHandlerImpl handler = new SheetContentsHandlerImpl(stream, progressListener);
+            DataFormatter formatter = new DataFormatter(); // Not thread-safe, so one per sheet
+            XSSFSheetXMLHandler sheetHandler = new XSSFSheetXMLHandler(styles, sharedStrings, handler, formatter, false);
+
+            XMLReader sheetParser = SAXHelper.newXMLReader();
+            sheetParser.setContentHandler(sheetHandler);
+            sheetParser.parse(new InputSource(stream));
+
+            DataTable table = handler.getTable();
+            progressListener.onProgress(table.getRowCount(), stream.getCount());
+            return table;
+        }
+    }
+
+    public DataTable parseExcelFile(InputStream inputStream) throws IOException {
         logger.info("Parsing Excel file from input stream with SAX");
         File tempFile = Files.createTempFile("excel-", ".xlsx").toFile();
         try {
@@ -89,19 +189,104 @@ public class ExcelParsingService {
         }
     }
 
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    // Folds one sheet's running counts into workbook totals; each instance is fed by a single worker
+    private static class SheetProgress implements ParseProgressListener {
+        private final AtomicLong totalRows;
+        private final AtomicLong totalBytes;
+        private final ParseProgressListener delegate;
+        private long lastRows;
+        private long lastBytes;
+
+        SheetProgress(AtomicLong totalRows, AtomicLong totalBytes, ParseProgressListener delegate) {
+            this.totalRows = totalRows;
+            this.totalBytes = totalBytes;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onProgress(long rowsParsed, long bytesRead) {
+            long rows = totalRows.addAndGet(rowsParsed - lastRows);
+            long bytes = totalBytes.addAndGet(bytesRead - lastBytes);
+            lastRows = rowsParsed;
+            lastBytes = bytesRead;
+            delegate.onProgress(rows, bytes);
+        }
+    }
+
     private static class SheetContentsHandlerImpl implements XSSFSheetXMLHandler.SheetContentsHandler {
-        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private final CountingInputStream source;
+        private final ParseProgressListener progressListener;
         private final List<String> columns = new ArrayList<>();
-        private Map<String, Object> currentRow;
+        private DataTableBuilder builder;
+        private boolean inDataRow;
         private int lastColumnIndex = -1;
         private boolean isHeaderRow = true;
         private final Map<String, Integer> headerNameCounts = new LinkedHashMap<>();
 
-        private int getColumnIndex(String cellReference) {
-            if (cellReference == null) {
-                return -1;
+        SheetContentsHandlerImpl(CountingInputStream source, ParseProgressListener progressListener) {
+            this.source = source;
+            this.progressListener = progressListener;
+        }
+
+        // Decodes the column letters of an A1-style reference ("AB12" -> 27) without allocating
+        private static int getColumnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                char c = cellReference.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    column = column * 26 + (c - 'A' + 1);
+                } else if (c >= 'a' && c <= 'z') {
+                    column = column * 26 + (c - 'a' + 1);
+                } else if (c != '$') {
+                    break;
+                }
+            }
+            return column - 1;
+        }
+
+        // Trims and collapses whitespace runs to a single space, equivalent to replaceAll("\\s+", " ").trim()
+        private static String normalizeHeader(String value) {
+            StringBuilder normalized = new StringBuilder(value.length());
+            boolean pendingSpace = false;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B') {
+                    pendingSpace = normalized.length() > 0;
+                } else {
+                    if (pendingSpace) {
+                        normalized.append(' ');
+                        pendingSpace = false;
+                    }
+                    normalized.append(c);
+                }
             }
-            return new org.apache.poi.ss.util.CellReference(cellReference).getCol();
+            return normalized.toString();
         }
 
         @Override
@@ -111,39 +296,37 @@ public class ExcelParsingService {
                 headerNameCounts.clear(); // Clear counts for each new header row parsing
             } else {
                 isHeaderRow = false;
-                currentRow = new LinkedHashMap<>();
+                if (builder == null) {
+                    builder = new DataTableBuilder(columns);
+                }
+                builder.startRow();
+                inDataRow = true;
             }
             lastColumnIndex = -1;
         }
 
         @Override
         public void endRow(int rowNum) {
-            if (!isHeaderRow && currentRow != null) {
-                for (int i = lastColumnIndex + 1; i < columns.size(); i++) {
-                    currentRow.put(columns.get(i), "");
-                }
-                if (!currentRow.isEmpty() || !columns.isEmpty()) {
-                    currentRow.put("__row_number__", rowNum + 1);
-                    rows.add(currentRow);
+            // Cells that never arrived stay blank in the builder's row buffer
+            if (!isHeaderRow && inDataRow && builder.getColumnCount() > 0) {
+                builder.endRow(rowNum + 1);
+                if (builder.getRowCount() % PROGRESS_INTERVAL == 0) {
+                    progressListener.onProgress(builder.getRowCount(), source.getCount());
                 }
             }
-            currentRow = null;
+            inDataRow = false;
         }
 
         @Override
         public void cell(String cellReference, String formattedValue, XSSFComment comment) {
-            int thisCol = getColumnIndex(cellReference);
+            // References are optional in the sheet XML; without one the cell follows the previous
+            int thisCol = cellReference != null ? getColumnIndex(cellReference) : lastColumnIndex + 1;
 
-            for (int i = lastColumnIndex + 1; i < thisCol; i++) {
-                if (isHeaderRow) {
+            if (isHeaderRow) {
+                for (int i = lastColumnIndex + 1; i < thisCol; i++) {
                     columns.add("");
-                } else if (currentRow != null && i < columns.size()) {
-                    currentRow.put(columns.get(i), "");
                 }
-            }
-
-            if (isHeaderRow) {
-                String baseHeader = formattedValue.replaceAll("\\s+", " ").trim();
+                String baseHeader = normalizeHeader(formattedValue);
                 int count = headerNameCounts.getOrDefault(baseHeader, 0);
                 headerNameCounts.put(baseHeader, count + 1);
                 String uniqueHeader = baseHeader;
@@ -151,8 +334,8 @@ public class ExcelParsingService {
                     uniqueHeader = baseHeader + " (" + count + ")";
                 }
                 columns.add(uniqueHeader);
-            } else if (currentRow != null && thisCol < columns.size()) {
-                currentRow.put(columns.get(thisCol), formattedValue);
+            } else if (inDataRow) {
+                builder.setValue(thisCol, formattedValue);
             }
             lastColumnIndex = thisCol;
         }
@@ -162,12 +345,8 @@ public class ExcelParsingService {
             // Ignoring header/footer
         }
 
-        public List<Map<String, Object>> getRows() {
-            return rows;
-        }
-
-        public List<String> getColumns() {
-            return columns;
+        public DataTable getTable() {
+            return builder != null ? builder.build() : new DataTableBuilder(columns).build();
         }
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,20 @@
 package com.app.dashboard.visualize_dashboard.service;
 
-import com.app.dashboard.visualize_dashboard.exception.FileProcessingException;
+import com.app.dashboard.visualize_dashboard.engine.BitmapIndex;
+import com.app.dashboard.visualize_dashboard.engine.RollupCube;
+import com.app.dashboard.visualize_dashboard.engine.DatasetDelta;
 import com.app.dashboard.visualize_dashboard.model.dto.FileValidationResponse;
 import com.app.dashboard.visualize_dashboard.model.entity.SavedFile;
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DatasetSnapshot;
 import com.app.dashboard.visualize_dashboard.repository.SavedFileRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,6 +25,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class FileService {
@@ -25,142 +36,153 @@ public class FileService {
     private static final Logger logger = LoggerFactory.getLogger(FileService.class);
     
     private final ExcelParsingService excelParsingService;
+    private final SnapshotStore snapshotStore;
     private final SavedFileRepository savedFileRepository;
     private final ObjectMapper objectMapper;
     
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
     
-    // In-memory cache for parsed data
-    private Map<String, List<Map<String, Object>>> dataCache = new HashMap<>();
-    private Map<String, List<String>> columnsCache = new HashMap<>();
+    // Columns with at most this many distinct values get a bitmap index at load time (0 disables)
+    @Value("${data.index.max-cardinality:256}")
+    private int indexMaxCardinality;
+    
+    // Rollups precomputed at load over every combination of up to max-dimensions of these columns
+    @Value("${data.rollup.dimensions:}")
+    private List<String> rollupDimensions;
+    
+    @Value("${data.rollup.max-dimensions:2}")
+    private int rollupMaxDimensions;
+    
+    @Value("${data.rollup.max-cells:4096}")
+    private int rollupMaxCells;
+    
+    // Loaded datasets by file type. The map is immutable and replaced atomically, so readers never
+    // see a half-applied load or refresh and never need to lock.
+    private final AtomicReference<Map<String, DatasetSnapshot>> datasets = new AtomicReference<>(Map.of());
+    // Every snapshot gets a new version so cached query results keyed by version go stale
+    private final AtomicLong versionSequence = new AtomicLong();
+    
+    private static final String SHEET_SEPARATOR = ":";
+    
+    // Load every sheet of a workbook (in parallel) instead of only the first
+    @Value("${ingestion.parse-all-sheets:false}")
+    private boolean parseAllSheets;
+    
+    // Diff reloads against the loaded dataset instead of replacing it wholesale
+    @Value("${ingestion.incremental.enabled:false}")
+    private boolean incrementalIngest;
+    
+    @Value("${ingestion.incremental.key-columns:}")
+    private String incrementalKeyColumns;
+    
+    // How files loaded before a restart come back: eager (background on startup), lazy (on first
+    // access to the dataset) or none
+    @Value("${data.startup.mode:eager}")
+    private String startupMode;
+    
+    // Explicit loads started per file type. A restore or refresh that began before the latest one
+    // neither publishes nor records its file, so it can never replace what the user loaded.
+    private final Map<String, Long> loadGenerations = new ConcurrentHashMap<>();
+    
+    // Files known from a previous run that have not been hydrated yet, by file type
+    private final Map<String, SavedFile> pendingFiles = new ConcurrentHashMap<>();
+    // One hydration per file type at a time; concurrent readers wait on the same future
+    private final Map<String, CompletableFuture<Void>> hydrations = new ConcurrentHashMap<>();
+    private volatile boolean warmingUp;
     
     public FileService(ExcelParsingService excelParsingService, 
+                      SnapshotStore snapshotStore,
                       SavedFileRepository savedFileRepository,
                       ObjectMapper objectMapper) {
         this.excelParsingService = excelParsingService;
+        this.snapshotStore = snapshotStore;
         this.savedFileRepository = savedFileRepository;
         this.objectMapper = objectMapper;
     }
     
-    public Map<String, Object> selectFolder(String folderPath) {
-        logger.info("Selecting folder: {}", folderPath);
-        
-        Path openReqPath = Paths.get(folderPath, "Open_Requirement_Data.xlsx");
-        Path releasePath = Paths.get(folderPath, "Employee_Release_Data.xlsx");
-        
-        Map<String, Object> result = new HashMap<>();
-        List<String> errors = new ArrayList<>();
-        
-        // Validate and load open requirements file
-        if (Files.exists(openReqPath)) {
-            try {
-                loadFile(openReqPath.toString(), "open");
-                result.put("openFile", Map.of("exists", true, "path", openReqPath.toString()));
-            } catch (Exception e) {
-                logger.error("Error loading open requirements file", e);
-                errors.add("Error loading Open_Requirement_Data.xlsx: " + e.getMessage());
-                result.put("openFile", Map.of("exists", false, "error", e.getMessage()));
-            }
-        } else {
-            errors.add("Open_Requirement_Data.xlsx not found");
-            result.put("openFile", Map.of("exists", false));
+    /**
+     * Copies an uploaded workbook into the upload directory under a timestamped name.
+     */
+    public Path storeUpload(MultipartFile file, String baseName) throws IOException {
+        Path uploadPath = Paths.get(uploadDir);
+        if (!Files.exists(uploadPath)) {
+            Files.createDirectories(uploadPath);
         }
-        
-        // Validate and load release file
-        if (Files.exists(releasePath)) {
-            try {
-                loadFile(releasePath.toString(), "release");
-                result.put("releaseFile", Map.of("exists", true, "path", releasePath.toString()));
-            } catch (Exception e) {
-                logger.error("Error loading release file", e);
-                errors.add("Error loading Employee_Release_Data.xlsx: " + e.getMessage());
-                result.put("releaseFile", Map.of("exists", false, "error", e.getMessage()));
-            }
-        } else {
-            errors.add("Employee_Release_Data.xlsx not found");
-            result.put("releaseFile", Map.of("exists", false));
+        Path filePath = uploadPath.resolve(baseName + "_" + System.currentTimeMillis() + ".xlsx");
+        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        return filePath;
+    }
+    
+    public void loadFile(String filePath, String fileType) throws IOException {
+        loadFile(filePath, fileType, ParseProgressListener.NONE);
+    }
+    
+    public void loadFile(String filePath, String fileType, ParseProgressListener listener) throws IOException {
+        loadGenerations.merge(fileType, 1L, Long::sum);
+        pendingFiles.remove(fileType); // An explicit load supersedes restoring the previous file
+        List<DatasetSnapshot> snapshots = buildSnapshots(filePath, fileType, listener);
+        if (publish(fileType, snapshots)) {
+            remember(fileType, filePath, snapshots);
         }
-        
-        result.put("errors", errors);
-        result.put("success", errors.isEmpty());
-        
-        return result;
     }
     
-    public Map<String, Object> uploadFiles(MultipartFile openFile, MultipartFile releaseFile) {
-        logger.info("Uploading files");
+    // Parses the file off to the side; nothing is visible to readers until the snapshots are published.
+    // The first sheet is published as the file type itself; with parse-all-sheets every further sheet
+    // becomes its own dataset named "<type>:<sheet name>".
+    private List<DatasetSnapshot> buildSnapshots(String filePath, String fileType, ParseProgressListener listener) throws IOException {
+        logger.info("Loading file: {} as type: {}", filePath, fileType);
         
-        try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+        Map<String, DataTable> sheets = snapshotStore.load(filePath, parseAllSheets);
+        if (sheets != null) {
+            long rows = sheets.values().stream().mapToLong(DataTable::getRowCount).sum();
+            long snapshotBytes = snapshotStore.snapshotSize(filePath);
+            listener.onBytesTotal(snapshotBytes);
+            listener.onProgress(rows, snapshotBytes);
+        } else {
+            if (parseAllSheets) {
+                sheets = excelParsingService.parseWorkbook(filePath, listener);
+            } else {
+                sheets = Map.of("", excelParsingService.parseExcelFile(filePath, listener));
             }
-            
-            Map<String, Object> result = new HashMap<>();
-            List<String> errors = new ArrayList<>();
-            
-            // Save and load open requirements file
-            if (openFile != null && !openFile.isEmpty()) {
-                try {
-                    String fileName = "Open_Requirement_Data_" + System.currentTimeMillis() + ".xlsx";
-                    Path filePath = uploadPath.resolve(fileName);
-                    Files.copy(openFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-                    loadFile(filePath.toString(), "open");
-                    result.put("openFile", Map.of("exists", true, "path", filePath.toString(), "name", fileName));
-                } catch (Exception e) {
-                    logger.error("Error uploading open requirements file", e);
-                    errors.add("Error uploading open file: " + e.getMessage());
-                    result.put("openFile", Map.of("exists", false, "error", e.getMessage()));
+            snapshotStore.save(filePath, parseAllSheets, sheets);
+            if (snapshotStore.isMappedStorage()) {
+                // Serve from the file mapping so the parsed on-heap copy can be collected
+                Map<String, DataTable> mapped = snapshotStore.load(filePath, parseAllSheets);
+                if (mapped != null) {
+                    sheets = mapped;
                 }
-            } else {
-                errors.add("Open requirements file is required");
-                result.put("openFile", Map.of("exists", false));
             }
-            
-            // Save and load release file
-            if (releaseFile != null && !releaseFile.isEmpty()) {
-                try {
-                    String fileName = "Employee_Release_Data_" + System.currentTimeMillis() + ".xlsx";
-                    Path filePath = uploadPath.resolve(fileName);
-                    Files.copy(releaseFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-                    loadFile(filePath.toString(), "release");
-                    result.put("releaseFile", Map.of("exists", true, "path", filePath.toString(), "name", fileName));
-                } catch (Exception e) {
-                    logger.error("Error uploading release file", e);
-                    errors.add("Error uploading release file: " + e.getMessage());
-                    result.put("releaseFile", Map.of("exists", false, "error", e.getMessage()));
+        }
+        
+        List<DatasetSnapshot> snapshots = new ArrayList<>(sheets.size());
+        for (Map.Entry<String, DataTable> sheet : sheets.entrySet()) {
+            String name = snapshots.isEmpty() ? fileType : fileType + SHEET_SEPARATOR + sheet.getKey();
+            DataTable parsed = sheet.getValue();
+            DatasetSnapshot existing = incrementalIngest ? datasets.get().get(name) : null;
+            DatasetSnapshot snapshot = existing != null
+                ? applyDelta(existing, parsed, name, fileType, filePath)
+                : new DatasetSnapshot(name, filePath, prepared(parsed), versionSequence.incrementAndGet());
+            DataTable table = snapshot.getTable();
+            logger.info("Loaded {} rows from {} as {} ({} indexed columns, {} rollups)", table.getRowCount(), filePath, name,
+                table.getIndexedColumnCount(), table.getRollups().size());
+            for (Column column : table.getColumns()) {
+                if (column.getParseFailures() > 0) {
+                    logger.warn("Column '{}' of {} inferred as {} with {} unparseable value(s)",
+                        column.getName(), name, column.getKind(), column.getParseFailures());
                 }
-            } else {
-                errors.add("Release file is required");
-                result.put("releaseFile", Map.of("exists", false));
             }
-            
-            result.put("errors", errors);
-            result.put("success", errors.isEmpty());
-            
-            return result;
-        } catch (IOException e) {
-            throw new FileProcessingException("Failed to create upload directory", e);
+            snapshots.add(snapshot);
         }
+        if (snapshots.isEmpty()) {
+            snapshots.add(new DatasetSnapshot(fileType, filePath, DataTable.empty(), versionSequence.incrementAndGet()));
+        }
+        return snapshots;
     }
     
-    private void loadFile(String filePath, String fileType) throws IOException {
-        logger.info("Loading file: {} as type: {}", filePath, fileType);
-        
-        Map<String, Object> parsed = excelParsingService.parseExcelFile(filePath);
-        
-        @SuppressWarnings("unchecked")
-        List<String> columns = (List<String>) parsed.get("columns");
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> rows = (List<Map<String, Object>>) parsed.get("rows");
-        
-        // Update cache
-        dataCache.put(fileType, rows);
-        columnsCache.put(fileType, columns);
-        
-        // Save to database
+    // Records the published file so it is restored after a restart
+    private void remember(String fileType, String filePath, List<DatasetSnapshot> snapshots) {
+        List<String> columns = new ArrayList<>(snapshots.get(0).getColumns());
         SavedFile savedFile = savedFileRepository.findByFileType(fileType)
             .orElse(new SavedFile());
         savedFile.setFileType(fileType);
@@ -174,12 +196,151 @@ public class FileService {
         }
         
         savedFileRepository.save(savedFile);
+    }
+    
+    // Attaches the load-time access structures: bitmap indexes and rollups
+    private DataTable prepared(DataTable parsed) {
+        return withRollups(parsed.withIndexes(BitmapIndex.buildAll(parsed, indexMaxCardinality)));
+    }
+    
+    private DataTable withRollups(DataTable table) {
+        if (rollupDimensions.isEmpty()) {
+            return table;
+        }
+        return table.withRollups(RollupCube.buildAll(table, rollupDimensions, rollupMaxDimensions, rollupMaxCells));
+    }
+    
+    // Diffs the new parse against the loaded dataset. An unchanged sheet keeps its snapshot version,
+    // so cached results stay valid; in-place updates reuse every untouched column and its index, and
+    // the rollups when no changed column feeds them. Inserts, deletes and reordering load the new
+    // parse in full.
+    private DatasetSnapshot applyDelta(DatasetSnapshot existing, DataTable parsed, String name, String fileType, String filePath) {
+        DataTable current = existing.getTable();
+        DatasetDelta delta = DatasetDelta.compute(current, parsed, keyColumnsFor(name, fileType));
+        if (delta.isSchemaChanged()) {
+            logger.info("Columns of {} changed, reloading it in full", name);
+            return new DatasetSnapshot(name, filePath, prepared(parsed), versionSequence.incrementAndGet());
+        }
+        logger.info("Incremental load of {} matched by {}: {} inserted, {} updated, {} deleted", name,
+            delta.isKeyed() ? "key columns" : "row content", delta.getInserted(), delta.getUpdated(), delta.getDeleted());
         
-        logger.info("Loaded {} rows from {}", rows.size(), filePath);
+        if (delta.isEmpty()) {
+            return new DatasetSnapshot(name, filePath, current, existing.getVersion());
+        }
+        if (!delta.isAligned()) {
+            return new DatasetSnapshot(name, filePath, prepared(parsed), versionSequence.incrementAndGet());
+        }
+        
+        List<Column> columns = new ArrayList<>(parsed.getColumns().size());
+        Map<Column, BitmapIndex> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < parsed.getColumns().size(); i++) {
+            Column column = delta.isColumnChanged(i) ? parsed.getColumn(i) : current.getColumn(i);
+            BitmapIndex index = delta.isColumnChanged(i)
+                ? (indexMaxCardinality > 0 ? BitmapIndex.build(column, parsed.getRowCount(), indexMaxCardinality) : null)
+                : current.getIndex(column);
+            columns.add(column);
+            if (index != null) {
+                indexes.put(column, index);
+            }
+        }
+        int[] rowNumbers = new int[parsed.getRowCount()];
+        for (int row = 0; row < rowNumbers.length; row++) {
+            rowNumbers[row] = parsed.getRowNumber(row);
+        }
+        DataTable table = new DataTable(columns, rowNumbers, parsed.getRowCount()).withIndexes(indexes);
+        table = rollupsAffected(current, parsed, delta) ? withRollups(table) : table.withRollups(current.getRollups());
+        return new DatasetSnapshot(name, filePath, table, versionSequence.incrementAndGet());
+    }
+    
+    // Whether a changed column was, or has become, a rollup dimension or measure
+    private boolean rollupsAffected(DataTable current, DataTable parsed, DatasetDelta delta) {
+        for (int i = 0; i < parsed.getColumns().size(); i++) {
+            if (!delta.isColumnChanged(i)) {
+                continue;
+            }
+            Column before = current.getColumn(i);
+            Column after = parsed.getColumn(i);
+            if (RollupCube.isMeasure(after) || current.getRollups().stream().anyMatch(cube -> cube.uses(before))
+                || rollupDimensions.stream().anyMatch(dimension -> dimension.trim().equalsIgnoreCase(after.getName().trim()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Key columns come from "type=Col A,Col B;other=Col C"; a sheet dataset falls back to its file type's keys
+    private List<String> keyColumnsFor(String name, String fileType) {
+        Map<String, List<String>> keys = parseKeyColumns(incrementalKeyColumns);
+        return keys.getOrDefault(name, keys.getOrDefault(fileType, List.of()));
+    }
+    
+    // A backslash takes the next character literally, so names may contain ';', '=', ',' or '\'
+    static Map<String, List<String>> parseKeyColumns(String spec) {
+        Map<String, List<String>> keys = new HashMap<>();
+        String type = null;
+        List<String> columns = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= spec.length(); i++) {
+            char c = i < spec.length() ? spec.charAt(i) : ';';
+            if (c == '\\' && i + 1 < spec.length()) {
+                token.append(spec.charAt(++i));
+            } else if (c == '=' && type == null) {
+                type = token.toString().trim();
+                token.setLength(0);
+            } else if (c == ';' || (c == ',' && type != null)) {
+                String column = token.toString().trim();
+                token.setLength(0);
+                if (type != null && !column.isEmpty()) {
+                    columns.add(column);
+                }
+                if (c == ';') {
+                    if (type != null && !type.isEmpty()) {
+                        keys.put(type, columns);
+                    }
+                    type = null;
+                    columns = new ArrayList<>();
+                }
+            } else {
+                token.append(c);
+            }
+        }
+        return keys;
+    }
+    
+    // True when the snapshots were published
+    private boolean publish(String fileType, List<DatasetSnapshot> snapshots) {
+        return datasets.updateAndGet(current -> {
+            DatasetSnapshot existing = current.get(fileType);
+            if (existing != null && existing.getVersion() > snapshots.get(0).getVersion()) {
+                return current; // A newer load of the same type was published first
+            }
+            Map<String, DatasetSnapshot> next = new HashMap<>(current);
+            next.keySet().removeIf(name -> belongsTo(name, fileType)); // Drop sheets the new load no longer has
+            snapshots.forEach(snapshot -> next.put(snapshot.getType(), snapshot));
+            return Collections.unmodifiableMap(next);
+        }).get(fileType) == snapshots.get(0);
+    }
+    
+    // Used by startup hydration, which must never replace a dataset loaded in the meantime nor publish
+    // once an explicit load of the type has started. A load starting after this check takes a higher
+    // version than these snapshots, so its publish still wins. True when the snapshots were published.
+    private boolean publishIfAbsent(String fileType, List<DatasetSnapshot> snapshots, Long generation) {
+        return datasets.updateAndGet(current -> {
+            if (current.containsKey(fileType) || !Objects.equals(generation, loadGenerations.get(fileType))) {
+                return current;
+            }
+            Map<String, DatasetSnapshot> next = new HashMap<>(current);
+            snapshots.forEach(snapshot -> next.put(snapshot.getType(), snapshot));
+            return Collections.unmodifiableMap(next);
+        }).get(fileType) == snapshots.get(0);
+    }
+    
+    private static boolean belongsTo(String datasetName, String fileType) {
+        return datasetName.equals(fileType) || datasetName.startsWith(fileType + SHEET_SEPARATOR);
     }
     
     public FileValidationResponse validateFile(String type) {
-        List<String> columns = columnsCache.get(type);
+        List<String> columns = getColumns(type);
         boolean exists = columns != null && !columns.isEmpty();
         
         return new FileValidationResponse(
@@ -189,32 +350,154 @@ public class FileService {
         );
     }
     
-    public List<Map<String, Object>> getData(String type) {
-        return dataCache.getOrDefault(type, Collections.emptyList());
+    public DatasetSnapshot getSnapshot(String type) {
+        if (type == null) {
+            return DatasetSnapshot.empty(null); // Immutable maps reject null keys; no type has no data
+        }
+        DatasetSnapshot snapshot = datasets.get().get(type);
+        if (snapshot == null && !pendingFiles.isEmpty()) {
+            // Lazy mode, or a request that arrived before the startup loader got to this file
+            int separator = type.indexOf(SHEET_SEPARATOR);
+            hydrate(separator > 0 ? type.substring(0, separator) : type);
+            snapshot = datasets.get().get(type);
+        }
+        return snapshot != null ? snapshot : DatasetSnapshot.empty(type);
+    }
+    
+    public DataTable getData(String type) {
+        return getSnapshot(type).getTable();
     }
     
     public List<String> getColumns(String type) {
-        return columnsCache.getOrDefault(type, Collections.emptyList());
+        return getSnapshot(type).getColumns();
+    }
+    
+    // Registers the files loaded before the restart; eager mode hydrates them on a background thread
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOnStartup() {
+        if ("none".equalsIgnoreCase(startupMode)) {
+            return;
+        }
+        savedFileRepository.findAll().forEach(savedFile -> {
+            if (savedFile.getFileType() != null && savedFile.getFilePath() != null) {
+                pendingFiles.put(savedFile.getFileType(), savedFile);
+            }
+        });
+        if (pendingFiles.isEmpty()) {
+            return;
+        }
+        logger.info("Restoring {} previously loaded file(s) ({} mode)", pendingFiles.size(), startupMode);
+        if ("eager".equalsIgnoreCase(startupMode)) {
+            warmingUp = true;
+            Thread loader = new Thread(() -> {
+                try {
+                    new ArrayList<>(pendingFiles.keySet()).forEach(this::hydrate);
+                } finally {
+                    warmingUp = false;
+                    logger.info("Startup loading finished");
+                }
+            }, "dataset-startup-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+    
+    // Loads a pending file once; callers arriving while it loads block on the same future
+    private void hydrate(String fileType) {
+        if (!pendingFiles.containsKey(fileType)) {
+            return;
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> running = hydrations.putIfAbsent(fileType, future);
+        if (running != null) {
+            running.join();
+            return;
+        }
+        try {
+            Long generation = loadGenerations.get(fileType);
+            SavedFile savedFile = pendingFiles.get(fileType);
+            if (savedFile != null && Files.exists(Paths.get(savedFile.getFilePath()))) {
+                List<DatasetSnapshot> snapshots = buildSnapshots(savedFile.getFilePath(), fileType, ParseProgressListener.NONE);
+                if (publishIfAbsent(fileType, snapshots, generation)) {
+                    remember(fileType, savedFile.getFilePath(), snapshots);
+                } else {
+                    logger.info("Dropping the restored {} file, the dataset was loaded in the meantime", fileType);
+                }
+            } else if (savedFile != null) {
+                logger.warn("Previously loaded file for {} no longer exists: {}", fileType, savedFile.getFilePath());
+            }
+        } catch (Exception e) {
+            logger.error("Error restoring {} file", fileType, e);
+        } finally {
+            pendingFiles.remove(fileType);
+            hydrations.remove(fileType, future);
+            future.complete(null);
+        }
+    }
+    
+    public boolean isWarmingUp() {
+        return warmingUp;
+    }
+    
+    public Set<String> getPendingTypes() {
+        return Set.copyOf(pendingFiles.keySet());
+    }
+    
+    public Map<String, DatasetSnapshot> getLoadedDatasets() {
+        return datasets.get();
     }
     
     public void refresh() {
         logger.info("Refreshing all files");
-        dataCache.clear();
-        columnsCache.clear();
+        pendingFiles.clear(); // Everything in the repository is reloaded below
+        Map<String, Long> generations = new HashMap<>(loadGenerations);
+        Map<String, SavedFile> sources = new HashMap<>();
+        Map<String, List<DatasetSnapshot>> reloaded = new HashMap<>();
+        Set<String> removed = new HashSet<>();
         
         savedFileRepository.findAll().forEach(savedFile -> {
             try {
                 if (savedFile.getFilePath() != null && Files.exists(Paths.get(savedFile.getFilePath()))) {
-                    loadFile(savedFile.getFilePath(), savedFile.getFileType());
+                    reloaded.put(savedFile.getFileType(),
+                        buildSnapshots(savedFile.getFilePath(), savedFile.getFileType(), ParseProgressListener.NONE));
+                    sources.put(savedFile.getFileType(), savedFile);
+                } else {
+                    removed.add(savedFile.getFileType());
                 }
             } catch (Exception e) {
+                // Keep serving the previous snapshot for this type
                 logger.error("Error refreshing file: {}", savedFile.getFilePath(), e);
             }
         });
+        
+        // Swap every reloaded dataset in at once; in-flight queries finish on the old snapshots. Types
+        // explicitly loaded while the refresh ran keep what that load published.
+        Map<String, DatasetSnapshot> published = datasets.updateAndGet(current -> {
+            Map<String, DatasetSnapshot> next = new HashMap<>(current);
+            removed.stream().filter(type -> Objects.equals(generations.get(type), loadGenerations.get(type)))
+                .forEach(type -> next.keySet().removeIf(name -> belongsTo(name, type)));
+            reloaded.forEach((type, snapshots) -> {
+                DatasetSnapshot existing = next.get(type);
+                // Equal versions mean the first sheet was unchanged; its other sheets may still be new
+                if (Objects.equals(generations.get(type), loadGenerations.get(type))
+                        && (existing == null || existing.getVersion() <= snapshots.get(0).getVersion())) {
+                    next.keySet().removeIf(name -> belongsTo(name, type));
+                    snapshots.forEach(snapshot -> next.put(snapshot.getType(), snapshot));
+                }
+            });
+            return Collections.unmodifiableMap(next);
+        });
+        reloaded.forEach((type, snapshots) -> {
+            if (published.get(type) == snapshots.get(0)) {
+                remember(type, sources.get(type).getFilePath(), snapshots);
+            }
+        });
     }
     
+    // Files still pending hydration count as loaded; the first read materialises them
     public boolean isDataLoaded() {
-        return !dataCache.isEmpty() && dataCache.containsKey("open") && dataCache.containsKey("release");
+        Map<String, DatasetSnapshot> current = datasets.get();
+        return (current.containsKey("open") || pendingFiles.containsKey("open"))
+            && (current.containsKey("release") || pendingFiles.containsKey("release"));
     }
 }
-
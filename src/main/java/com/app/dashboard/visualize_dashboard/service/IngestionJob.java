@@ -0,0 +1,145 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.dto.IngestionFileStatus;
+import com.app.dashboard.visualize_dashboard.model.dto.IngestionJobResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one upload or folder selection. Each file is parsed by its own worker; the job
+ * completes when the last file finishes. Safe to read while workers update it.
+ */
+public class IngestionJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile LocalDateTime finishedAt;
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+    private final List<FileTask> files = new ArrayList<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    // Files must all be added before the first one is submitted for parsing
+    FileTask addFile(String type, String path, String fileName, long fileSize) {
+        FileTask task = new FileTask(type, path, fileName, fileSize);
+        files.add(task);
+        pending.incrementAndGet();
+        return task;
+    }
+
+    void addError(String error) {
+        errors.add(error);
+    }
+
+    void completed(FileTask task) {
+        task.phase = "COMPLETED";
+        finishOne();
+    }
+
+    void failed(FileTask task, String error) {
+        task.phase = "FAILED";
+        task.error = error;
+        errors.add(error);
+        finishOne();
+    }
+
+    // Called once all files are registered, so a job with nothing to parse finishes immediately
+    void sealed() {
+        if (pending.get() == 0) {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private void finishOne() {
+        if (pending.decrementAndGet() == 0) {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    public IngestionJobResponse toResponse() {
+        IngestionJobResponse response = new IngestionJobResponse();
+        response.setJobId(id);
+        boolean finished = isFinished();
+        response.setPhase(!finished ? "RUNNING" : errors.isEmpty() ? "COMPLETED" : "FAILED");
+        response.setSuccess(finished && errors.isEmpty());
+        response.setErrors(new ArrayList<>(errors));
+        List<IngestionFileStatus> statuses = new ArrayList<>(files.size());
+        for (FileTask task : files) {
+            statuses.add(task.toStatus());
+        }
+        response.setFiles(statuses);
+        response.setStartedAt(startedAt);
+        response.setFinishedAt(finishedAt);
+        return response;
+    }
+
+    static class FileTask implements ParseProgressListener {
+        private final String type;
+        private final String path;
+        private final String fileName;
+        private final long fileSize;
+        private volatile String phase = "QUEUED";
+        private volatile String error;
+        private volatile long rowsParsed;
+        private volatile long bytesProcessed;
+        private volatile long bytesTotal = -1;
+
+        FileTask(String type, String path, String fileName, long fileSize) {
+            this.type = type;
+            this.path = path;
+            this.fileName = fileName;
+            this.fileSize = fileSize;
+        }
+
+        String getType() { return type; }
+
+        String getPath() { return path; }
+
+        String getFileName() { return fileName; }
+
+        void started() {
+            phase = "PARSING";
+        }
+
+        @Override
+        public void onProgress(long rowsParsed, long bytesRead) {
+            this.rowsParsed = rowsParsed;
+            this.bytesProcessed = bytesRead;
+        }
+
+        @Override
+        public void onBytesTotal(long bytesTotal) {
+            this.bytesTotal = bytesTotal;
+        }
+
+        IngestionFileStatus toStatus() {
+            IngestionFileStatus status = new IngestionFileStatus();
+            status.setType(type);
+            status.setFileName(fileName);
+            status.setPath(path);
+            status.setPhase(phase);
+            status.setFileSize(fileSize);
+            status.setBytesProcessed(bytesProcessed);
+            status.setBytesTotal(bytesTotal);
+            status.setRowsParsed(rowsParsed);
+            status.setError(error);
+            return status;
+        }
+    }
+}
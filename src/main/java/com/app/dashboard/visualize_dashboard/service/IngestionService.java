@@ -0,0 +1,159 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.dto.IngestionJobResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs workbook parsing off the request thread. Uploads are persisted synchronously, then each file
+ * is parsed on a bounded worker pool and progress is reported through {@link #getJob(String)}.
+ */
+@Service
+public class IngestionService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionService.class);
+
+    private static final String OPEN_FILE_NAME = "Open_Requirement_Data.xlsx";
+    private static final String RELEASE_FILE_NAME = "Employee_Release_Data.xlsx";
+
+    private final FileService fileService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+    private final long jobRetentionMinutes;
+
+    public IngestionService(FileService fileService,
+                            @Value("${ingestion.pool-size:4}") int poolSize,
+                            @Value("${ingestion.queue-capacity:16}") int queueCapacity,
+                            @Value("${ingestion.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.fileService = fileService;
+        this.jobRetentionMinutes = jobRetentionMinutes;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "ingest-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public IngestionJobResponse submitFolder(String folderPath) {
+        logger.info("Selecting folder: {}", folderPath);
+        IngestionJob job = newJob();
+
+        Path openReqPath = Paths.get(folderPath, OPEN_FILE_NAME);
+        Path releasePath = Paths.get(folderPath, RELEASE_FILE_NAME);
+        IngestionJob.FileTask openTask = addExistingFile(job, openReqPath, "open");
+        IngestionJob.FileTask releaseTask = addExistingFile(job, releasePath, "release");
+
+        job.sealed();
+        submit(job, openTask);
+        submit(job, releaseTask);
+        return job.toResponse();
+    }
+
+    public IngestionJobResponse submitUpload(MultipartFile openFile, MultipartFile releaseFile) {
+        logger.info("Uploading files");
+        IngestionJob job = newJob();
+
+        IngestionJob.FileTask openTask = addUploadedFile(job, openFile, "open", "Open_Requirement_Data",
+            "Open requirements file is required", "Error uploading open file: ");
+        IngestionJob.FileTask releaseTask = addUploadedFile(job, releaseFile, "release", "Employee_Release_Data",
+            "Release file is required", "Error uploading release file: ");
+
+        job.sealed();
+        submit(job, openTask);
+        submit(job, releaseTask);
+        return job.toResponse();
+    }
+
+    public Optional<IngestionJobResponse> getJob(String jobId) {
+        IngestionJob job = jobs.get(jobId);
+        return job != null ? Optional.of(job.toResponse()) : Optional.empty();
+    }
+
+    private IngestionJob newJob() {
+        // Forget finished jobs past the retention window
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+
+        IngestionJob job = new IngestionJob();
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private IngestionJob.FileTask addExistingFile(IngestionJob job, Path path, String type) {
+        if (!Files.exists(path)) {
+            job.addError(path.getFileName() + " not found");
+            return null;
+        }
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (Exception e) {
+            size = 0;
+        }
+        return job.addFile(type, path.toString(), path.getFileName().toString(), size);
+    }
+
+    private IngestionJob.FileTask addUploadedFile(IngestionJob job, MultipartFile file, String type, String baseName,
+                                                  String missingMessage, String errorPrefix) {
+        if (file == null || file.isEmpty()) {
+            job.addError(missingMessage);
+            return null;
+        }
+        try {
+            Path stored = fileService.storeUpload(file, baseName);
+            return job.addFile(type, stored.toString(), stored.getFileName().toString(), file.getSize());
+        } catch (Exception e) {
+            logger.error("Error uploading {} file", type, e);
+            job.addError(errorPrefix + e.getMessage());
+            return null;
+        }
+    }
+
+    private void submit(IngestionJob job, IngestionJob.FileTask task) {
+        if (task == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> parse(job, task));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Ingestion queue full, rejecting {}", task.getFileName());
+            job.failed(task, "Error loading " + task.getFileName() + ": ingestion queue is full, try again later");
+        }
+    }
+
+    private void parse(IngestionJob job, IngestionJob.FileTask task) {
+        task.started();
+        try {
+            fileService.loadFile(task.getPath(), task.getType(), task);
+            job.completed(task);
+        } catch (Exception e) {
+            logger.error("Error loading {} file {}", task.getType(), task.getPath(), e);
+            job.failed(task, "Error loading " + task.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
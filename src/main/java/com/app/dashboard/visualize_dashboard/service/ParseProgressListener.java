@@ -0,0 +1,17 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+/**
+ * Receives periodic progress while a workbook is loaded. Byte counts are in the unit of what is
+ * actually read: uncompressed sheet XML while {@link ExcelParsingService} streams the sheets, or
+ * the snapshot file when the workbook is loaded from its snapshot.
+ */
+@FunctionalInterface
+public interface ParseProgressListener {
+
+    ParseProgressListener NONE = (rowsParsed, bytesRead) -> { };
+
+    void onProgress(long rowsParsed, long bytesRead);
+
+    // The bytesRead value reached once loading completes, or -1 when the package does not record it
+    default void onBytesTotal(long bytesTotal) { }
+}
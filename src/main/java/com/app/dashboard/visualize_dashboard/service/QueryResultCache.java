@@ -0,0 +1,222 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded LRU cache for computed aggregate and widget preview results. Keys embed the dataset
+ * version, so a reload makes old entries unreachable and they age out under the entry and weight limits.
+ */
+@Service
+public class QueryResultCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public QueryResultCache(@Value("${data.cache.max-entries:500}") int maxEntries,
+                            @Value("${data.cache.max-weight:5000000}") long maxWeight,
+                            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+
+        FunctionCounter.builder("dashboard.query.cache.requests", hits, AtomicLong::doubleValue)
+            .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("dashboard.query.cache.requests", misses, AtomicLong::doubleValue)
+            .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("dashboard.query.cache.evictions", evictions, AtomicLong::doubleValue)
+            .register(meterRegistry);
+        Gauge.builder("dashboard.query.cache.size", this, QueryResultCache::size).register(meterRegistry);
+        Gauge.builder("dashboard.query.cache.weight", this, QueryResultCache::weight).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result for key or computes, stores and returns it. The computation runs
+     * outside the lock, so concurrent misses on one key may compute twice; results must not be mutated.
+     *
+     * @param weigher approximate retained size of a result, in cells
+     */
+    public <T> T get(String key, Supplier<T> loader, ToLongFunction<T> weigher) {
+        if (maxEntries <= 0) {
+            return loader.get();
+        }
+        synchronized (this) {
+            CachedResult cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.value();
+                return value;
+            }
+        }
+        misses.incrementAndGet();
+        T value = loader.get();
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        if (weight <= maxWeight) {
+            put(key, new CachedResult(value, weight));
+        }
+        return value;
+    }
+
+    // Lookup without a loader, for callers that compute several misses together
+    public <T> T getIfPresent(String key) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        synchronized (this) {
+            CachedResult cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.value();
+                return value;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public <T> void put(String key, T value, ToLongFunction<T> weigher) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        if (weight <= maxWeight) {
+            put(key, new CachedResult(value, weight));
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return totalWeight;
+    }
+
+    private synchronized void put(String key, CachedResult result) {
+        CachedResult previous = entries.put(key, result);
+        if (previous != null) {
+            totalWeight -= previous.weight();
+        }
+        totalWeight += result.weight();
+
+        Iterator<CachedResult> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalWeight > maxWeight) && eldest.hasNext()) {
+            CachedResult evicted = eldest.next();
+            eldest.remove();
+            totalWeight -= evicted.weight();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Builds a cache key that is insensitive to filter key order and case, IN-list order and
+     * operation case, matching how the filters are evaluated. Components are encoded with
+     * {@link #compose}, so queries that differ in any component never share a key.
+     */
+    public static String key(String kind, String dataSource, long version, Map<String, Object> filters,
+                             List<String> groupBy, String operation, String valueColumn) {
+        List<Object> components = new ArrayList<>(Arrays.asList(kind, dataSource, version,
+            operation != null ? operation.toLowerCase(Locale.ROOT) : "count",
+            valueColumn, groupBy != null ? groupBy : List.of(), normalizeFilters(filters)));
+        if ("revenue_loss".equalsIgnoreCase(operation)) {
+            components.add(LocalDate.now()); // Loss accrues daily
+        }
+        return compose(components.toArray());
+    }
+
+    /**
+     * Joins key components so that different component lists never produce the same string: a
+     * value is written as its length, ':' and its text, null as '~', and a list as its size, '['
+     * and its encoded elements. Every encoding is self-delimiting, so no separator can be forged
+     * by the characters of a column name or filter value.
+     */
+    public static String compose(Object... components) {
+        StringBuilder key = new StringBuilder();
+        for (Object component : components) {
+            append(key, component);
+        }
+        return key.toString();
+    }
+
+    private static void append(StringBuilder key, Object component) {
+        if (component == null) {
+            key.append('~');
+        } else if (component instanceof List<?> values) {
+            key.append(values.size()).append('[');
+            for (Object value : values) {
+                append(key, value);
+            }
+        } else {
+            String text = component.toString();
+            key.append(text.length()).append(':').append(text);
+        }
+    }
+
+    // One encoded entry per active filter, sorted so that filter order does not matter
+    private static List<String> normalizeFilters(Map<String, Object> filters) {
+        List<String> normalized = new ArrayList<>();
+        if (filters == null) {
+            return normalized;
+        }
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            Object value = filter.getValue();
+            if (value == null || value.toString().trim().isEmpty()) {
+                continue; // Skipped by the filter compiler as well
+            }
+            String column = filter.getKey() != null ? filter.getKey().toLowerCase(Locale.ROOT) : "";
+            normalized.add(compose(column, normalizeFilterValue(value)));
+        }
+        normalized.sort(null);
+        return normalized;
+    }
+
+    private static List<Object> normalizeFilterValue(Object value) {
+        if (value instanceof List<?> values) {
+            List<String> items = new ArrayList<>(values.size());
+            for (Object item : values) {
+                if (item != null) {
+                    items.add(item.toString().toLowerCase(Locale.ROOT));
+                }
+            }
+            items.sort(null);
+            return List.of("in", items);
+        }
+        if (value instanceof Map<?, ?> range) {
+            Map<String, String> bounds = new TreeMap<>();
+            range.forEach((bound, boundValue) -> bounds.put(String.valueOf(bound), String.valueOf(boundValue).trim()));
+            List<String> pairs = new ArrayList<>(bounds.size() * 2);
+            bounds.forEach((bound, boundValue) -> {
+                pairs.add(bound);
+                pairs.add(boundValue);
+            });
+            return List.of("range", pairs);
+        }
+        return List.of("eq", value.toString().toLowerCase(Locale.ROOT));
+    }
+
+    private record CachedResult(Object value, long weight) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
+import com.app.dashboard.visualize_dashboard.engine.RowSorter;
+import com.app.dashboard.visualize_dashboard.model.dto.RowPageResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.RowQueryRequest;
+import com.app.dashboard.visualize_dashboard.model.table.Column;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DatasetSnapshot;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serves raw rows page by page or as an NDJSON stream, so no response holds the whole dataset.
+ * The filtered, sorted row order is cached per dataset version and shared by all pages.
+ */
+@Service
+public class RawDataService {
+    
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    
+    private final FileService fileService;
+    private final DataAggregationService aggregationService;
+    private final QueryResultCache resultCache;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${data.page.default-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${data.page.max-size:1000}")
+    private int maxPageSize;
+    
+    public RawDataService(FileService fileService, DataAggregationService aggregationService,
+                          QueryResultCache resultCache, ObjectMapper objectMapper) {
+        this.fileService = fileService;
+        this.aggregationService = aggregationService;
+        this.resultCache = resultCache;
+        this.objectMapper = objectMapper;
+    }
+    
+    public RowPageResponse page(RowQueryRequest request) {
+        return page(request, false);
+    }
+    
+    // Same page with the rows column-encoded rather than as one map per row
+    public RowPageResponse pageColumnar(RowQueryRequest request) {
+        return page(request, true);
+    }
+    
+    private RowPageResponse page(RowQueryRequest request, boolean columnar) {
+        DatasetSnapshot snapshot = fileService.getSnapshot(request.getType());
+        DataTable table = snapshot.getTable();
+        List<Column> projection = project(table, request.getColumns());
+        int[] ordered = orderedRows(snapshot, request);
+        
+        int offset = Math.max(0, request.getOffset() != null ? request.getOffset() : 0);
+        int limit = pageSize(request.getLimit());
+        int end = (int) Math.min(ordered.length, (long) offset + limit);
+        
+        RowPageResponse response = new RowPageResponse();
+        response.setColumns(names(projection));
+        if (columnar) {
+            int[] rows = Arrays.copyOfRange(ordered, Math.min(offset, end), end);
+            response.setColumnarRows(ColumnarEncoder.encode(table, projection, rows));
+        } else {
+            List<Map<String, Object>> rows = new ArrayList<>(Math.max(0, end - offset));
+            for (int i = offset; i < end; i++) {
+                rows.add(table.getRow(ordered[i], projection));
+            }
+            response.setRows(rows);
+        }
+        response.setOffset(offset);
+        response.setLimit(limit);
+        response.setTotalRows(ordered.length);
+        response.setNextOffset(end < ordered.length ? end : null);
+        return response;
+    }
+    
+    // Filters and sorts up front so a bad request fails before the response starts; the body then
+    // writes one JSON object per line, flushing periodically so rows reach the client as produced
+    public StreamingResponseBody export(RowQueryRequest request) {
+        DatasetSnapshot snapshot = fileService.getSnapshot(request.getType());
+        DataTable table = snapshot.getTable();
+        List<Column> projection = project(table, request.getColumns());
+        int[] ordered = orderedRows(snapshot, request);
+        return out -> writeNdjson(table, projection, ordered, out);
+    }
+    
+    private void writeNdjson(DataTable table, List<Column> projection, int[] ordered, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (int i = 0; i < ordered.length; i++) {
+                int row = ordered[i];
+                generator.writeStartObject();
+                for (Column column : projection) {
+                    generator.writeStringField(column.getName(), column.getString(row));
+                }
+                generator.writeNumberField(DataTable.ROW_NUMBER_KEY, table.getRowNumber(row));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if ((i + 1) % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+    
+    // Identifies the page against the current dataset version, for ETags
+    public String pageKey(RowQueryRequest request, boolean columnar) {
+        DatasetSnapshot snapshot = fileService.getSnapshot(request.getType());
+        return QueryResultCache.compose(
+            QueryResultCache.key(columnar ? "rows-columnar" : "rows", request.getType(), snapshot.getVersion(),
+                request.getFilters(), null, null, sortKey(request)),
+            request.getColumns(),
+            Math.max(0, request.getOffset() != null ? request.getOffset() : 0),
+            pageSize(request.getLimit()));
+    }
+    
+    public int pageSize(Integer requested) {
+        int size = requested != null && requested > 0 ? requested : defaultPageSize;
+        return Math.min(size, maxPageSize);
+    }
+    
+    private int[] orderedRows(DatasetSnapshot snapshot, RowQueryRequest request) {
+        DataTable table = snapshot.getTable();
+        Column sortColumn = null;
+        if (request.getSortBy() != null && !request.getSortBy().isEmpty()) {
+            sortColumn = table.findColumnIgnoreCase(request.getSortBy());
+            if (sortColumn == null && !table.isEmpty()) {
+                throw new IllegalArgumentException("Unknown sort column: " + request.getSortBy());
+            }
+        }
+        boolean descending = isDescending(request.getSortDirection());
+        String sort = sortColumn != null ? sortColumn.getName() + (descending ? " desc" : " asc") : null;
+        String key = QueryResultCache.key("rows", request.getType(), snapshot.getVersion(),
+            request.getFilters(), null, null, sort);
+        Column column = sortColumn;
+        return resultCache.get(key, () -> {
+            RowSelection rows = aggregationService.filter(table, request.getFilters());
+            return RowSorter.sort(rows, column, descending);
+        }, ordered -> ordered.length / 8); // An int per row, against cells of a few dozen bytes
+    }
+    
+    private static String sortKey(RowQueryRequest request) {
+        String sortBy = request.getSortBy();
+        if (sortBy == null || sortBy.isEmpty()) {
+            return null;
+        }
+        return sortBy.toLowerCase(Locale.ROOT) + (isDescending(request.getSortDirection()) ? " desc" : " asc");
+    }
+    
+    private static boolean isDescending(String direction) {
+        if (direction == null || direction.isEmpty() || "asc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Sort direction must be 'asc' or 'desc': " + direction);
+    }
+    
+    private static List<Column> project(DataTable table, List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            return table.getColumns();
+        }
+        List<Column> projection = new ArrayList<>(columns.size());
+        for (String name : columns) {
+            Column column = table.findColumnIgnoreCase(name);
+            if (column == null) {
+                if (table.isEmpty()) continue;
+                throw new IllegalArgumentException("Unknown column: " + name);
+            }
+            projection.add(column);
+        }
+        return projection;
+    }
+    
+    private static List<String> names(List<Column> columns) {
+        List<String> names = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            names.add(column.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.SnapshotFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Keeps a binary columnar copy of every parsed workbook next to the source file
+ * ({@code <source>.vds}). A snapshot is only used while its fingerprint, a CRC32C of the source
+ * bytes plus the parse mode, still matches, so an edited or replaced workbook is parsed again.
+ */
+@Service
+public class SnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final String EXTENSION = ".vds";
+
+    @Value("${data.snapshot.enabled:true}")
+    private boolean enabled;
+
+    // "heap" copies loaded columns onto the heap; "mapped" serves them from the snapshot file mapping
+    @Value("${data.storage:heap}")
+    private String storage;
+
+    public boolean isMappedStorage() {
+        return "mapped".equalsIgnoreCase(storage);
+    }
+
+    // Null when snapshots are disabled, missing, stale or unreadable
+    public Map<String, DataTable> load(String sourcePath, boolean allSheets) {
+        if (!enabled && !isMappedStorage()) {
+            return null;
+        }
+        Path snapshotPath = snapshotPath(sourcePath);
+        try {
+            Map<String, DataTable> tables = SnapshotFile.read(snapshotPath, fingerprint(sourcePath, allSheets), isMappedStorage());
+            if (tables != null) {
+                logger.info("Loaded {} table(s) from snapshot {}", tables.size(), snapshotPath);
+            }
+            return tables;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable snapshot {}", snapshotPath, e);
+            return null;
+        }
+    }
+
+    // Size of the snapshot file of this source, or -1 when there is none
+    public long snapshotSize(String sourcePath) {
+        try {
+            return Files.size(snapshotPath(sourcePath));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    // Best effort: a failed write only costs a full parse on the next load
+    public void save(String sourcePath, boolean allSheets, Map<String, DataTable> tables) {
+        if (!enabled && !isMappedStorage()) {
+            return;
+        }
+        Path snapshotPath = snapshotPath(sourcePath);
+        try {
+            SnapshotFile.write(snapshotPath, fingerprint(sourcePath, allSheets), tables);
+            logger.info("Wrote snapshot {} ({} bytes)", snapshotPath, Files.size(snapshotPath));
+        } catch (IOException e) {
+            logger.warn("Failed to write snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private static Path snapshotPath(String sourcePath) {
+        return Paths.get(sourcePath + EXTENSION);
+    }
+
+    private static String fingerprint(String sourcePath, boolean allSheets) throws IOException {
+        CRC32C crc = new CRC32C();
+        long size = 0;
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(Paths.get(sourcePath))) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        return Long.toHexString(crc.getValue()) + ":" + size + (allSheets ? ":all-sheets" : ":first-sheet");
+    }
+}
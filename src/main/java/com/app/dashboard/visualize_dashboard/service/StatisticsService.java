@@ -1,73 +1,98 @@
 package com.app.dashboard.visualize_dashboard.service;
 
+import com.app.dashboard.visualize_dashboard.engine.ChunkedExecutor;
+import com.app.dashboard.visualize_dashboard.engine.StatisticsScan;
 import com.app.dashboard.visualize_dashboard.model.dto.StatisticsResponse;
+import com.app.dashboard.visualize_dashboard.model.table.DatasetSnapshot;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Landing-page statistics over the open dataset. The configured distributions and sums are
+ * computed by one fused {@link StatisticsScan} and cached per dataset version.
+ */
 @Service
 public class StatisticsService {
     
     private final FileService fileService;
-    private final DataAggregationService aggregationService;
+    private final QueryResultCache resultCache;
+    private final List<String> distributionColumns;
+    private final List<String> sumColumns;
+    private final ChunkedExecutor executor;
     
-    public StatisticsService(FileService fileService, DataAggregationService aggregationService) {
+    public StatisticsService(FileService fileService, QueryResultCache resultCache,
+                             @Value("${statistics.distributions:Location,Grade,Person Type,Status,Qtr}") List<String> distributionColumns,
+                             @Value("${statistics.sums:Oct Rev,Nov Rev,Dec Rev}") List<String> sumColumns,
+                             ChunkedExecutor executor) {
         this.fileService = fileService;
-        this.aggregationService = aggregationService;
+        this.resultCache = resultCache;
+        this.distributionColumns = List.copyOf(distributionColumns);
+        this.sumColumns = List.copyOf(sumColumns);
+        this.executor = executor;
     }
     
     public StatisticsResponse getStatistics() {
-        List<Map<String, Object>> openData = fileService.getData("open");
-        List<Map<String, Object>> releaseData = fileService.getData("release");
+        // Key and compute against the same snapshots so a concurrent reload cannot mix versions
+        DatasetSnapshot open = fileService.getSnapshot("open");
+        DatasetSnapshot release = fileService.getSnapshot("release");
+        return resultCache.get(statisticsKey(open, release), () -> computeStatistics(open, release),
+            StatisticsService::weigh);
+    }
+    
+    // Changes whenever either dataset is reloaded, for ETags
+    public String statisticsKey() {
+        return statisticsKey(fileService.getSnapshot("open"), fileService.getSnapshot("release"));
+    }
+    
+    private static String statisticsKey(DatasetSnapshot open, DatasetSnapshot release) {
+        return QueryResultCache.compose("statistics", open.getVersion(), release.getVersion());
+    }
+    
+    private StatisticsResponse computeStatistics(DatasetSnapshot open, DatasetSnapshot release) {
+        StatisticsScan.Result scan = StatisticsScan.run(open.getTable(), distributionColumns, sumColumns, executor);
         
         StatisticsResponse stats = new StatisticsResponse();
         
-        stats.setTotalOpenRequirements(openData.size());
-        stats.setTotalReleases(releaseData.size());
-        
-        // Distributions
-        stats.setLocationDistribution(getDistribution(openData, "Location"));
-        stats.setGradeDistribution(getDistribution(openData, "Grade"));
-        stats.setPersonTypeDistribution(getDistribution(openData, "Person Type"));
-        stats.setStatusDistribution(getDistribution(openData, "Status"));
+        stats.setTotalOpenRequirements(open.getTable().getRowCount());
+        stats.setTotalReleases(release.getTable().getRowCount());
+        stats.setDistributions(scan.distributions());
+        stats.setSums(scan.sums());
         
-        // Qtr counts
-        stats.setQtrCounts(getDistribution(openData, "Qtr"));
+        // Named fields read by the landing page; empty when the column is not configured
+        stats.setLocationDistribution(distribution(scan, "Location"));
+        stats.setGradeDistribution(distribution(scan, "Grade"));
+        stats.setPersonTypeDistribution(distribution(scan, "Person Type"));
+        stats.setStatusDistribution(distribution(scan, "Status"));
+        stats.setQtrCounts(distribution(scan, "Qtr"));
         
-        // Revenue calculations
-        double octRev = sumColumn(openData, "Oct Rev");
-        double novRev = sumColumn(openData, "Nov Rev");
-        double decRev = sumColumn(openData, "Dec Rev");
-        double q3Rev = octRev + novRev + decRev;
+        double octRev = sum(scan, "Oct Rev");
+        double novRev = sum(scan, "Nov Rev");
+        double decRev = sum(scan, "Dec Rev");
         
         stats.setOctRev(octRev);
         stats.setNovRev(novRev);
         stats.setDecRev(decRev);
-        stats.setQ3Rev(q3Rev);
+        stats.setQ3Rev(octRev + novRev + decRev);
         
         return stats;
     }
     
-    private Map<String, Long> getDistribution(List<Map<String, Object>> data, String column) {
-        return aggregationService.getDistribution(data, column);
+    private static Map<String, Long> distribution(StatisticsScan.Result scan, String column) {
+        return scan.distributions().getOrDefault(column, Map.of());
     }
     
-    private double sumColumn(List<Map<String, Object>> data, String column) {
-        return data.stream()
-            .mapToDouble(row -> {
-                Object value = row.get(column);
-                if (value == null) return 0.0;
-                if (value instanceof Number) {
-                    return ((Number) value).doubleValue();
-                }
-                try {
-                    return Double.parseDouble(value.toString().replaceAll("[^\\d.-]", ""));
-                } catch (NumberFormatException e) {
-                    return 0.0;
-                }
-            })
-            .sum();
+    private static double sum(StatisticsScan.Result scan, String column) {
+        return scan.sums().getOrDefault(column, 0.0);
+    }
+    
+    private static long weigh(StatisticsResponse stats) {
+        long weight = stats.getSums().size();
+        for (Map<String, Long> distribution : stats.getDistributions().values()) {
+            weight += distribution.size();
+        }
+        return weight;
     }
 }
-
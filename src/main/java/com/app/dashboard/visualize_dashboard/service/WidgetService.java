@@ -1,11 +1,20 @@
 package com.app.dashboard.visualize_dashboard.service;
 
+import com.app.dashboard.visualize_dashboard.engine.RowSelection;
 import com.app.dashboard.visualize_dashboard.model.dto.AggregateRequest;
 import com.app.dashboard.visualize_dashboard.model.dto.AggregateResponse;
+import com.app.dashboard.visualize_dashboard.model.dto.BatchPreviewResponse;
 import com.app.dashboard.visualize_dashboard.model.dto.WidgetConfig;
 import com.app.dashboard.visualize_dashboard.model.dto.WidgetPreviewResponse;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DatasetSnapshot;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -14,27 +23,68 @@ public class WidgetService {
     
     private final FileService fileService;
     private final DataAggregationService aggregationService;
+    private final QueryResultCache resultCache;
     
-    public WidgetService(FileService fileService, DataAggregationService aggregationService) {
+    // The preview carries a bounded sample; full row sets are paged or exported via RawDataService
+    @Value("${data.preview.raw-rows:100}")
+    private int previewRawRows;
+    
+    public WidgetService(FileService fileService, DataAggregationService aggregationService,
+                         QueryResultCache resultCache) {
         this.fileService = fileService;
         this.aggregationService = aggregationService;
+        this.resultCache = resultCache;
     }
     
     public WidgetPreviewResponse previewWidget(WidgetConfig config) {
-        // Get data based on data source
-        List<Map<String, Object>> data = fileService.getData(config.getDataSource());
+        return previewWidget(config, false);
+    }
+    
+    // Same preview with the raw rows column-encoded rather than as one map per row
+    public WidgetPreviewResponse previewWidgetColumnar(WidgetConfig config) {
+        return previewWidget(config, true);
+    }
+    
+    // Identifies the preview against the current dataset version, for ETags
+    public String previewKey(WidgetConfig config, boolean columnar) {
+        return previewKey(fileService.getSnapshot(config.getDataSource()), config, columnar);
+    }
+    
+    private WidgetPreviewResponse previewWidget(WidgetConfig config, boolean columnar) {
+        // Key and compute against one snapshot so a concurrent reload cannot mix versions
+        DatasetSnapshot snapshot = fileService.getSnapshot(config.getDataSource());
+        String key = previewKey(snapshot, config, columnar);
+        return resultCache.get(key, () -> computePreview(snapshot.getTable(), config, columnar), WidgetService::weigh);
+    }
+    
+    private static String previewKey(DatasetSnapshot snapshot, WidgetConfig config, boolean columnar) {
+        return QueryResultCache.key(columnar ? "preview-columnar" : "preview", config.getDataSource(),
+            snapshot.getVersion(), config.getFilters(), config.getGroupBy(), config.getOperation(), config.getValueColumn());
+    }
+    
+    private WidgetPreviewResponse computePreview(DataTable data, WidgetConfig config, boolean columnar) {
 
-        // Apply filters
-        List<Map<String, Object>> filteredData = aggregationService.filter(data, config.getFilters());
+        // Apply filters; still needed for the raw rows when a rollup answers the aggregate
+        RowSelection filteredRows = aggregationService.filter(data, config.getFilters());
         
         // Aggregate
-        Map<String, Object> aggregated = aggregationService.aggregate(
-            filteredData,
-            config.getGroupBy(),
-            config.getOperation() != null ? config.getOperation() : "count",
-            config.getValueColumn()
-        );
+        Map<String, Object> aggregated = aggregationService.aggregateFromRollup(
+            data, config.getFilters(), config.getGroupBy(), config.getOperation(), config.getValueColumn());
+        if (aggregated == null) {
+            aggregated = aggregationService.aggregate(
+                data,
+                filteredRows,
+                config.getGroupBy(),
+                config.getOperation() != null ? config.getOperation() : "count",
+                config.getValueColumn()
+            );
+        }
         
+        return toPreview(data, filteredRows, aggregated, columnar);
+    }
+    
+    private WidgetPreviewResponse toPreview(DataTable data, RowSelection filteredRows,
+                                            Map<String, Object> aggregated, boolean columnar) {
         WidgetPreviewResponse response = new WidgetPreviewResponse();
         
         if (aggregated.containsKey("value")) {
@@ -58,21 +108,134 @@ public class WidgetService {
             response.setInvalidRowNumbers((List<Integer>) aggregated.get("invalidRowNumbers"));
         }
         
-        response.setRawData(filteredData);
+        if (columnar) {
+            int[] rows = ColumnarEncoder.firstRows(filteredRows, previewRawRows);
+            response.setColumnarData(ColumnarEncoder.encode(data, data.getColumns(), rows));
+        } else {
+            response.setRawData(data.getRows(filteredRows, previewRawRows));
+        }
+        response.setTotalRows(filteredRows.cardinality());
         
         return response;
     }
     
-    public AggregateResponse aggregate(AggregateRequest request) {
-        List<Map<String, Object>> data = fileService.getData(request.getType());
-        List<Map<String, Object>> filteredData = aggregationService.filter(data, request.getFilters());
+    /**
+     * Evaluates a whole dashboard in one call. Cached previews are reused; the rest are grouped by
+     * data source, filters and grouping, so each group is filtered once and aggregated in one fused
+     * scan, and groups with equal filters share the filtered rows. A failing widget only fails its
+     * own entry.
+     */
+    public BatchPreviewResponse previewBatch(List<WidgetConfig> widgets) {
+        int count = widgets.size();
+        WidgetPreviewResponse[] previews = new WidgetPreviewResponse[count];
+        String[] errors = new String[count];
+        String[] keys = new String[count];
+        Map<String, DatasetSnapshot> snapshots = new HashMap<>();
+        Map<String, List<Integer>> scans = new LinkedHashMap<>();
         
-        Map<String, Object> aggregated = aggregationService.aggregate(
-            filteredData,
-            request.getGroupBy(),
-            request.getOperation() != null ? request.getOperation() : "count",
-            request.getValueColumn()
-        );
+        for (int i = 0; i < count; i++) {
+            WidgetConfig config = widgets.get(i);
+            if (config.getDataSource() == null) {
+                errors[i] = "Widget has no data source";
+                continue;
+            }
+            DatasetSnapshot snapshot = snapshots.computeIfAbsent(config.getDataSource(), fileService::getSnapshot);
+            keys[i] = previewKey(snapshot, config, false);
+            previews[i] = resultCache.getIfPresent(keys[i]);
+            if (previews[i] == null) {
+                String scanKey = QueryResultCache.key("scan", config.getDataSource(), snapshot.getVersion(),
+                    config.getFilters(), config.getGroupBy(), null, null);
+                scans.computeIfAbsent(scanKey, key -> new ArrayList<>()).add(i);
+            }
+        }
+        
+        Map<String, RowSelection> filteredRows = new HashMap<>();
+        for (List<Integer> scan : scans.values()) {
+            WidgetConfig first = widgets.get(scan.get(0));
+            DatasetSnapshot snapshot = snapshots.get(first.getDataSource());
+            DataTable data = snapshot.getTable();
+            try {
+                String filterKey = QueryResultCache.key("filter", first.getDataSource(), snapshot.getVersion(),
+                    first.getFilters(), null, null, null);
+                RowSelection rows = filteredRows.computeIfAbsent(filterKey,
+                    key -> aggregationService.filter(data, first.getFilters()));
+                
+                // Widgets covered by a rollup need no scan; the rest share one fused scan
+                List<Integer> scanned = new ArrayList<>(scan.size());
+                List<String> operations = new ArrayList<>(scan.size());
+                List<String> valueColumns = new ArrayList<>(scan.size());
+                for (int i : scan) {
+                    WidgetConfig config = widgets.get(i);
+                    Map<String, Object> rolledUp = aggregationService.aggregateFromRollup(data, config.getFilters(),
+                        config.getGroupBy(), config.getOperation(), config.getValueColumn());
+                    if (rolledUp != null) {
+                        previews[i] = toPreview(data, rows, rolledUp, false);
+                        resultCache.put(keys[i], previews[i], WidgetService::weigh);
+                        continue;
+                    }
+                    scanned.add(i);
+                    operations.add(config.getOperation());
+                    valueColumns.add(config.getValueColumn());
+                }
+                List<Map<String, Object>> aggregated = scanned.isEmpty() ? List.of()
+                    : aggregationService.aggregateAll(data, rows, first.getGroupBy(), operations, valueColumns);
+                
+                for (int j = 0; j < scanned.size(); j++) {
+                    int i = scanned.get(j);
+                    previews[i] = toPreview(data, rows, aggregated.get(j), false);
+                    resultCache.put(keys[i], previews[i], WidgetService::weigh);
+                }
+            } catch (RuntimeException e) {
+                for (int i : scan) {
+                    errors[i] = e.getMessage();
+                }
+            }
+        }
+        
+        BatchPreviewResponse response = new BatchPreviewResponse();
+        response.setPreviews(Arrays.asList(previews));
+        response.setErrors(Arrays.asList(errors));
+        return response;
+    }
+    
+    // Combines the widgets' preview keys, for ETags
+    public String batchKey(List<WidgetConfig> widgets) {
+        List<String> keys = new ArrayList<>(widgets.size());
+        for (WidgetConfig config : widgets) {
+            keys.add(config.getDataSource() != null ? previewKey(config, false) : null);
+        }
+        return QueryResultCache.compose("batch", keys);
+    }
+    
+    public AggregateResponse aggregate(AggregateRequest request) {
+        DatasetSnapshot snapshot = fileService.getSnapshot(request.getType());
+        String key = aggregateKey(snapshot, request);
+        return resultCache.get(key, () -> computeAggregate(snapshot.getTable(), request), WidgetService::weigh);
+    }
+    
+    public String aggregateKey(AggregateRequest request) {
+        return aggregateKey(fileService.getSnapshot(request.getType()), request);
+    }
+    
+    private static String aggregateKey(DatasetSnapshot snapshot, AggregateRequest request) {
+        return QueryResultCache.key("aggregate", request.getType(), snapshot.getVersion(),
+            request.getFilters(), request.getGroupBy(), request.getOperation(), request.getValueColumn());
+    }
+    
+    private AggregateResponse computeAggregate(DataTable data, AggregateRequest request) {
+        // A covering rollup answers without filtering or reading rows
+        Map<String, Object> aggregated = aggregationService.aggregateFromRollup(
+            data, request.getFilters(), request.getGroupBy(), request.getOperation(), request.getValueColumn());
+        if (aggregated == null) {
+            RowSelection filteredRows = aggregationService.filter(data, request.getFilters());
+            aggregated = aggregationService.aggregate(
+                data,
+                filteredRows,
+                request.getGroupBy(),
+                request.getOperation() != null ? request.getOperation() : "count",
+                request.getValueColumn()
+            );
+        }
         
         AggregateResponse response = new AggregateResponse();
         
@@ -88,5 +251,18 @@ public class WidgetService {
         
         return response;
     }
+    
+    private static long weigh(WidgetPreviewResponse response) {
+        long weight = response.getLabels().size();
+        List<Map<String, Object>> rawData = response.getRawData();
+        if (rawData != null && !rawData.isEmpty()) {
+            weight += (long) rawData.size() * rawData.get(0).size();
+        }
+        weight += ColumnarEncoder.weigh(response.getColumnarData());
+        return weight;
+    }
+    
+    private static long weigh(AggregateResponse response) {
+        return response.getLabels() != null ? response.getLabels().size() : 1;
+    }
 }
-
@@ -0,0 +1,189 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DataTableBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkedExecutorTest {
+
+	// Parallel from 1000 rows in 128-row chunks, and from any row count above one 64-row chunk
+	private static final ChunkedExecutor THRESHOLD = new ChunkedExecutor(4, 1000, 100);
+	private static final ChunkedExecutor SMALL_CHUNKS = new ChunkedExecutor(3, 0, 64);
+	private static final List<ChunkedExecutor> EXECUTORS = List.of(THRESHOLD, SMALL_CHUNKS);
+
+	private static final int[] ROW_COUNTS = {0, 1, 63, 64, 65, 127, 129, 191, 193, 999, 1000, 1001, 1089};
+
+	@AfterAll
+	static void shutdown() {
+		EXECUTORS.forEach(ChunkedExecutor::shutdown);
+	}
+
+	@Test
+	void parallelThreshold() {
+		assertEquals(128, THRESHOLD.getChunkRows());
+		assertFalse(THRESHOLD.isParallel(999));
+		assertTrue(THRESHOLD.isParallel(1000));
+		assertTrue(THRESHOLD.isParallel(1001));
+		assertFalse(SMALL_CHUNKS.isParallel(64));
+		assertTrue(SMALL_CHUNKS.isParallel(65));
+		assertFalse(ChunkedExecutor.SEQUENTIAL.isParallel(Integer.MAX_VALUE));
+		assertFalse(new ChunkedExecutor(1, 0, 64).isParallel(1_000_000));
+	}
+
+	@Test
+	void chunksAreAlignedAndMergedInOrder() {
+		for (ChunkedExecutor executor : EXECUTORS) {
+			for (int rowCount : ROW_COUNTS) {
+				List<int[]> ranges = executor.execute(rowCount, (fromRow, toRow) -> {
+					List<int[]> range = new ArrayList<>();
+					range.add(new int[] {fromRow, toRow});
+					return range;
+				}, (left, right) -> {
+					left.addAll(right);
+					return left;
+				});
+				String message = rowCount + " rows in " + executor.getChunkRows() + "-row chunks";
+				assertEquals(executor.isParallel(rowCount) ? (rowCount + executor.getChunkRows() - 1) / executor.getChunkRows() : 1,
+					ranges.size(), message);
+				int next = 0;
+				for (int[] range : ranges) {
+					assertEquals(next, range[0], message);
+					assertEquals(0, range[0] % 64, message);
+					next = range[1];
+				}
+				assertEquals(rowCount, next, message);
+			}
+		}
+	}
+
+	@Test
+	void filtersMatchSequential() {
+		List<Map<String, Object>> cases = List.of(
+			Map.of(),
+			Map.of("Region", "north"),
+			Map.of("Region", List.of("South", "")),
+			Map.of("Note", "note 7"),
+			Map.of("Note", List.of("note 1", "note 64", "note 999", "note 1000")),
+			Map.of("Qty", List.of("3", "")),
+			Map.of("Rate", "0.5"),
+			Map.of("Region", "East", "Qty", "5"),
+			Map.of("Missing", "x"));
+		for (int rowCount : ROW_COUNTS) {
+			DataTable table = table(rowCount);
+			DataTable indexed = table.withIndexes(BitmapIndex.buildAll(table, 256));
+			for (Map<String, Object> filters : cases) {
+				for (DataTable source : List.of(table, indexed)) {
+					int[] expected = CompiledFilter.compile(source, filters).evaluate().toArray();
+					for (ChunkedExecutor executor : EXECUTORS) {
+						RowSelection actual = CompiledFilter.compile(source, filters).evaluate(executor);
+						assertArrayEquals(expected, actual.toArray(), rowCount + " rows, filters " + filters);
+						assertEquals(expected.length, actual.cardinality(), rowCount + " rows, filters " + filters);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void groupByMatchesSequential() {
+		List<List<String>> groupings = List.of(
+			List.of(), List.of("Region"), List.of("Note"), List.of("Region", "Qty"), List.of("Qty", "Region"),
+			List.of("Rate", "Missing"));
+		for (int rowCount : ROW_COUNTS) {
+			DataTable table = table(rowCount);
+			List<RowSelection> selections = List.of(
+				RowSelection.all(rowCount),
+				CompiledFilter.compile(table, Map.of("Region", List.of("North", "East"))).evaluate(),
+				RowSelection.none(rowCount));
+			IntToDoubleFunction[] values = {table.getColumn("Qty")::getDouble, table.getColumn("Rate")::getDouble};
+			for (List<String> groupBy : groupings) {
+				for (RowSelection rows : selections) {
+					GroupByEngine.GroupedResult expected = GroupByEngine.aggregate(table, rows, groupBy, "n/a", values);
+					for (ChunkedExecutor executor : EXECUTORS) {
+						GroupByEngine.GroupedResult actual = GroupByEngine.aggregate(table, rows, groupBy, "n/a", values, executor);
+						String message = rowCount + " rows by " + groupBy + ", " + rows.cardinality() + " selected";
+						assertEquals(expected.getGroupCount(), actual.getGroupCount(), message);
+						for (int group = 0; group < expected.getGroupCount(); group++) {
+							assertEquals(expected.getLabel(group, "|"), actual.getLabel(group, "|"), message);
+							assertEquals(expected.getCount(group), actual.getCount(group), message);
+							assertEquals(expected.getSum(group, 0), actual.getSum(group, 0), message);
+							assertEquals(expected.getSum(group, 1), actual.getSum(group, 1), 1e-9, message);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void statisticsMatchSequential() {
+		List<String> counted = List.of("Region", "Note", "Qty", "Missing");
+		List<String> summed = List.of("Qty", "Rate", "Missing");
+		for (int rowCount : ROW_COUNTS) {
+			DataTable table = table(rowCount);
+			StatisticsScan.Result expected = StatisticsScan.run(table, counted, summed, ChunkedExecutor.SEQUENTIAL);
+			for (ChunkedExecutor executor : EXECUTORS) {
+				StatisticsScan.Result actual = StatisticsScan.run(table, counted, summed, executor);
+				assertEquals(expected.distributions(), actual.distributions(), rowCount + " rows");
+				assertEquals(expected.sums().keySet(), actual.sums().keySet(), rowCount + " rows");
+				expected.sums().forEach((column, sum) -> assertEquals(sum, actual.sums().get(column), 1e-9, rowCount + " rows, " + column));
+			}
+		}
+	}
+
+	@Test
+	void selectionsCombineAcrossPartialWords() {
+		for (int rowCount : ROW_COUNTS) {
+			RowSelection odd = RowSelection.none(rowCount);
+			RowSelection thirds = RowSelection.none(rowCount);
+			int oddCount = 0;
+			for (int row = 0; row < rowCount; row++) {
+				if (row % 2 == 1) {
+					odd.set(row);
+					oddCount++;
+				}
+				if (row % 3 == 0) {
+					thirds.set(row);
+				}
+			}
+			assertEquals(rowCount, RowSelection.all(rowCount).cardinality());
+			assertEquals(oddCount, RowSelection.all(rowCount).and(odd).cardinality());
+			assertEquals(-1, RowSelection.all(rowCount).nextSetBit(rowCount));
+
+			int[] both = RowSelection.none(rowCount).or(odd).and(thirds).toArray();
+			int[] either = RowSelection.none(rowCount).or(odd).or(thirds).toArray();
+			for (int row = 0, b = 0, e = 0; row < rowCount; row++) {
+				if (row % 2 == 1 && row % 3 == 0) assertEquals(row, both[b++]);
+				if (row % 2 == 1 || row % 3 == 0) assertEquals(row, either[e++]);
+			}
+			assertEquals(rowCount, RowSelection.none(rowCount).or(RowSelection.all(rowCount)).toArray().length);
+		}
+	}
+
+	// Region is low-cardinality with blanks, Note is unique per row, Qty is a long column with blanks
+	// and Rate a double column
+	private static DataTable table(int rowCount) {
+		String[] regions = {"North", "South", "", "East", "north"};
+		DataTableBuilder builder = new DataTableBuilder(List.of("Region", "Note", "Qty", "Rate"));
+		for (int row = 0; row < rowCount; row++) {
+			builder.startRow();
+			builder.setValue(0, regions[(row * 7 + row / 13) % regions.length]);
+			builder.setValue(1, "note " + row);
+			builder.setValue(2, row % 5 == 2 ? "" : Integer.toString(row % 11));
+			builder.setValue(3, Double.toString((row % 9) * 0.25));
+			builder.endRow(row + 2);
+		}
+		return builder.build();
+	}
+}
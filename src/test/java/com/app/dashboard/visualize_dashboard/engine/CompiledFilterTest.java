@@ -0,0 +1,129 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DataTableBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompiledFilterTest {
+
+	private static final List<String> COLUMNS = List.of("Location", "Grade", "Qty", "Rate", "Status ");
+
+	private static final String[][] ROWS = {
+		{"Pune", "B", "10", "1.5", "Open"},
+		{"pune", "A", "20", "2.25", "open"},
+		{"Delhi", "", "", "", "Closed"},
+		{"PUNE", "C", "10", "1.5", ""},
+		{"Mumbai", "B", "30", "", "Open"},
+		{"", "A", "5", "0.5", "On Hold"},
+		{"Delhi", "b", "20", "2.25", "OPEN"},
+	};
+
+	@Test
+	void matchesBaselineRowFilter() {
+		DataTable table = table();
+		DataTable indexed = table.withIndexes(BitmapIndex.buildAll(table, 256));
+
+		List<Map<String, Object>> cases = List.of(
+			Map.of(),
+			Map.of("Location", "pune"),
+			Map.of("location", "PUNE"),
+			Map.of("Location", List.of("delhi", "Mumbai")),
+			Map.of("Location", List.of()),
+			Map.of("Location", ""),
+			Map.of("Location", "   "),
+			Map.of("Grade", List.of("")),
+			Map.of("Grade", List.of("", "b")),
+			Map.of("Qty", "10"),
+			Map.of("Qty", List.of("20", "5", "")),
+			Map.of("Qty", "10.0"),
+			Map.of("Rate", "2.25"),
+			Map.of("Rate", List.of("1.50", "0.5")),
+			Map.of("Status", "open"),
+			Map.of("Location", "Pune", "Grade", "b"),
+			Map.of("Location", List.of("pune", "delhi"), "Status", List.of("OPEN"), "Qty", "20"),
+			Map.of("Missing", "x"),
+			Map.of("Missing", "x", "Location", "Pune"),
+			Map.of("Missing", ""));
+
+		for (Map<String, Object> filters : cases) {
+			int[] expected = baselineFilter(filters);
+			assertArrayEquals(expected, CompiledFilter.compile(table, filters).evaluate().toArray(), "filters " + filters);
+			assertArrayEquals(expected, CompiledFilter.compile(indexed, filters).evaluate().toArray(), "indexed, filters " + filters);
+		}
+	}
+
+	@Test
+	void nullFiltersMatchEveryRow() {
+		DataTable table = table();
+		assertEquals(ROWS.length, CompiledFilter.compile(table, null).evaluate().cardinality());
+
+		Map<String, Object> nullValue = new LinkedHashMap<>();
+		nullValue.put("Location", null);
+		assertEquals(ROWS.length, CompiledFilter.compile(table, nullValue).evaluate().cardinality());
+	}
+
+	private static DataTable table() {
+		DataTableBuilder builder = new DataTableBuilder(COLUMNS);
+		for (int row = 0; row < ROWS.length; row++) {
+			builder.startRow();
+			for (int column = 0; column < COLUMNS.size(); column++) {
+				builder.setValue(column, ROWS[row][column]);
+			}
+			builder.endRow(row + 2);
+		}
+		return builder.build();
+	}
+
+	// The row-map filter this engine replaced: case-insensitive equality or IN-list on the cell
+	// string, empty filters skipped, and no row matching a filter on a column it does not have
+	private static int[] baselineFilter(Map<String, Object> filters) {
+		List<Integer> matches = new ArrayList<>();
+		for (int row = 0; row < ROWS.length; row++) {
+			Map<String, Object> rowMap = new LinkedHashMap<>();
+			for (int column = 0; column < COLUMNS.size(); column++) {
+				rowMap.put(COLUMNS.get(column), ROWS[row][column]);
+			}
+			if (baselineMatches(rowMap, filters)) {
+				matches.add(row);
+			}
+		}
+		return matches.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static boolean baselineMatches(Map<String, Object> row, Map<String, Object> filters) {
+		for (Map.Entry<String, Object> filter : filters.entrySet()) {
+			Object filterValue = filter.getValue();
+			if (filterValue == null || filterValue.toString().trim().isEmpty()) {
+				continue;
+			}
+			Object rowValue = null;
+			for (Map.Entry<String, Object> entry : row.entrySet()) {
+				if (entry.getKey().trim().equalsIgnoreCase(filter.getKey())) {
+					rowValue = entry.getValue();
+					break;
+				}
+			}
+			if (rowValue == null) {
+				return false;
+			}
+			String cell = rowValue.toString();
+			if (filterValue instanceof List<?> values) {
+				if (values.stream().noneMatch(value -> value.toString().equalsIgnoreCase(cell))) {
+					return false;
+				}
+			} else if (!cell.equalsIgnoreCase(filterValue.toString())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,171 @@
+package com.app.dashboard.visualize_dashboard.engine;
+
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DataTableBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatasetDeltaTest {
+
+	private static final List<String> COLUMNS = List.of("ID", "Region", "Qty");
+	private static final List<String> KEYS = List.of("ID");
+
+	private static final String[][] BASE = {
+		{"1", "North", "10"},
+		{"2", "South", "20"},
+		{"3", "North", "30"},
+	};
+
+	@Test
+	void keyedUnchanged() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(BASE), KEYS);
+		assertTrue(delta.isKeyed());
+		assertTrue(delta.isEmpty());
+		assertCounts(delta, 0, 0, 0);
+	}
+
+	@Test
+	void keyedUpdateInPlace() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(
+			new String[] {"1", "North", "10"},
+			new String[] {"2", "South", "25"},
+			new String[] {"3", "North", "35"}), KEYS);
+		assertTrue(delta.isKeyed());
+		assertTrue(delta.isAligned());
+		assertFalse(delta.isEmpty());
+		assertCounts(delta, 0, 2, 0);
+		assertFalse(delta.isColumnChanged(0));
+		assertFalse(delta.isColumnChanged(1));
+		assertTrue(delta.isColumnChanged(2));
+	}
+
+	@Test
+	void keyedInsertAndDelete() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(
+			new String[] {"1", "North", "10"},
+			new String[] {"3", "East", "30"},
+			new String[] {"4", "West", "40"},
+			new String[] {"5", "West", "50"}), KEYS);
+		assertTrue(delta.isKeyed());
+		assertFalse(delta.isAligned());
+		assertCounts(delta, 2, 1, 1);
+	}
+
+	@Test
+	void keyedReorderIsNotAligned() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(BASE[2], BASE[0], BASE[1]), KEYS);
+		assertTrue(delta.isKeyed());
+		assertFalse(delta.isAligned());
+		assertFalse(delta.isEmpty());
+		assertCounts(delta, 0, 0, 0);
+	}
+
+	@Test
+	void compositeKeysDoNotCollide() {
+		String[][] current = {{"a\u0001", "b", "1"}, {"a", "\u0001b", "2"}};
+		String[][] incoming = {{"a\u0001", "b", "1"}, {"a", "\u0001b", "3"}};
+		DatasetDelta delta = DatasetDelta.compute(table(current), table(incoming), List.of("ID", "Region"));
+		assertTrue(delta.isKeyed());
+		assertTrue(delta.isAligned());
+		assertCounts(delta, 0, 1, 0);
+	}
+
+	@Test
+	void duplicateKeysFallBackToContent() {
+		String[][] current = {{"1", "North", "10"}, {"1", "South", "20"}};
+		DatasetDelta delta = DatasetDelta.compute(table(current), table(current), KEYS);
+		assertFalse(delta.isKeyed());
+		assertTrue(delta.isEmpty());
+
+		DatasetDelta repeatedIncoming = DatasetDelta.compute(table(BASE), table(BASE[0], BASE[0], BASE[2]), KEYS);
+		assertFalse(repeatedIncoming.isKeyed());
+		assertCounts(repeatedIncoming, 1, 0, 1);
+	}
+
+	@Test
+	void missingKeyColumnFallsBackToContent() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(BASE), List.of("Missing"));
+		assertFalse(delta.isKeyed());
+		assertTrue(delta.isEmpty());
+	}
+
+	@Test
+	void contentUnchanged() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(BASE), List.of());
+		assertFalse(delta.isKeyed());
+		assertTrue(delta.isEmpty());
+		assertCounts(delta, 0, 0, 0);
+	}
+
+	@Test
+	void contentReportsUpdatesAsInsertAndDelete() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(
+			new String[] {"1", "North", "10"},
+			new String[] {"2", "South", "25"},
+			new String[] {"3", "North", "30"},
+			new String[] {"4", "West", "40"}), List.of());
+		assertFalse(delta.isKeyed());
+		assertFalse(delta.isAligned());
+		assertCounts(delta, 2, 0, 1);
+		assertFalse(delta.isColumnChanged(2));
+	}
+
+	@Test
+	void contentCountsRepeatedRows() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE[0], BASE[0], BASE[1]), table(BASE[0], BASE[1], BASE[1]), null);
+		assertCounts(delta, 1, 0, 1);
+		assertFalse(delta.isEmpty());
+	}
+
+	@Test
+	void contentReorderIsNotEmpty() {
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), table(BASE[1], BASE[0], BASE[2]), List.of());
+		assertCounts(delta, 0, 0, 0);
+		assertFalse(delta.isEmpty());
+	}
+
+	@Test
+	void contentDistinguishesCellBoundaries() {
+		String[][] current = {{"ab", "c", "1"}, {"a\u0001", "b", "1"}};
+		String[][] incoming = {{"a", "bc", "1"}, {"a", "\u0001b", "1"}};
+		DatasetDelta delta = DatasetDelta.compute(table(current), table(incoming), List.of());
+		assertCounts(delta, 2, 0, 2);
+		assertFalse(delta.isEmpty());
+	}
+
+	@Test
+	void schemaChange() {
+		DataTableBuilder builder = new DataTableBuilder(List.of("ID", "Region"));
+		builder.startRow();
+		builder.setValue(0, "1");
+		builder.setValue(1, "North");
+		builder.endRow(2);
+		DatasetDelta delta = DatasetDelta.compute(table(BASE), builder.build(), KEYS);
+		assertTrue(delta.isSchemaChanged());
+		assertFalse(delta.isEmpty());
+		assertCounts(delta, 1, 0, 3);
+	}
+
+	private static void assertCounts(DatasetDelta delta, int inserted, int updated, int deleted) {
+		assertEquals(inserted, delta.getInserted(), "inserted");
+		assertEquals(updated, delta.getUpdated(), "updated");
+		assertEquals(deleted, delta.getDeleted(), "deleted");
+	}
+
+	private static DataTable table(String[]... rows) {
+		DataTableBuilder builder = new DataTableBuilder(COLUMNS);
+		for (int row = 0; row < rows.length; row++) {
+			builder.startRow();
+			for (int column = 0; column < COLUMNS.size(); column++) {
+				builder.setValue(column, rows[row][column]);
+			}
+			builder.endRow(row + 2);
+		}
+		return builder.build();
+	}
+}
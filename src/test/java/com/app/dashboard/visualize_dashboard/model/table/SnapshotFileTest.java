@@ -0,0 +1,176 @@
+package com.app.dashboard.visualize_dashboard.model.table;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SnapshotFileTest {
+
+	private static final String FINGERPRINT = "1a2b3c:1024:first-sheet";
+
+	@Test
+	void roundTripsEveryColumnTypeWithBlanks(@TempDir Path dir) throws IOException {
+		Map<String, DataTable> tables = new LinkedHashMap<>();
+		tables.put("", sample(130));
+		tables.put("Second", sample(3));
+		tables.put("Empty", DataTable.empty());
+		Path path = dir.resolve("book.xlsx.vds");
+		SnapshotFile.write(path, FINGERPRINT, tables);
+
+		DataTable first = tables.get("");
+		assertInstanceOf(StringColumn.class, first.getColumn("Name"));
+		assertInstanceOf(LongColumn.class, first.getColumn("Qty"));
+		assertInstanceOf(DoubleColumn.class, first.getColumn("Rate"));
+
+		for (boolean mapped : new boolean[] {false, true}) {
+			Map<String, DataTable> read = SnapshotFile.read(path, FINGERPRINT, mapped);
+			assertNotNull(read);
+			assertEquals(List.copyOf(tables.keySet()), List.copyOf(read.keySet()));
+			for (String name : tables.keySet()) {
+				assertSameTable(tables.get(name), read.get(name), (mapped ? "mapped " : "heap ") + name);
+			}
+		}
+	}
+
+	@Test
+	void staleFingerprintIsRejected(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("book.xlsx.vds");
+		SnapshotFile.write(path, FINGERPRINT, Map.of("", sample(5)));
+
+		assertNull(SnapshotFile.read(path, "1a2b3c:1025:first-sheet", false));
+		assertNull(SnapshotFile.read(path, "1a2b3c:1024:all-sheets", true));
+		assertNull(SnapshotFile.read(dir.resolve("missing.vds"), FINGERPRINT, false));
+	}
+
+	@Test
+	void truncatedFileIsRejected(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("book.xlsx.vds");
+		SnapshotFile.write(path, FINGERPRINT, Map.of("", sample(70)));
+		byte[] bytes = Files.readAllBytes(path);
+
+		Path truncated = dir.resolve("truncated.vds");
+		for (int length = 0; length < bytes.length; length++) {
+			Files.write(truncated, Arrays.copyOf(bytes, length));
+			assertRejected(truncated, "truncated to " + length + " bytes");
+		}
+	}
+
+	@Test
+	void corruptFileIsRejected(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("book.xlsx.vds");
+		SnapshotFile.write(path, FINGERPRINT, Map.of("", sample(70)));
+		byte[] bytes = Files.readAllBytes(path);
+		int tableStart = 4 + 4 + 4 + FINGERPRINT.length() + 4 + 4; // header, then the empty table name
+
+		// A row count far beyond the file must fail before anything that size is allocated
+		byte[] hugeRowCount = bytes.clone();
+		ByteBuffer.wrap(hugeRowCount).putInt(tableStart, Integer.MAX_VALUE);
+		Path corrupt = dir.resolve("corrupt.vds");
+		Files.write(corrupt, hugeRowCount);
+		assertThrows(IOException.class, () -> SnapshotFile.read(corrupt, FINGERPRINT, false));
+
+		byte[] negativeRowCount = bytes.clone();
+		ByteBuffer.wrap(negativeRowCount).putInt(tableStart, -1);
+		Files.write(corrupt, negativeRowCount);
+		assertThrows(IOException.class, () -> SnapshotFile.read(corrupt, FINGERPRINT, true));
+
+		byte[] trailing = Arrays.copyOf(bytes, bytes.length + 3);
+		Files.write(corrupt, trailing);
+		assertThrows(IOException.class, () -> SnapshotFile.read(corrupt, FINGERPRINT, false));
+
+		byte[] notASnapshot = "PK\u0003\u0004 not a snapshot".getBytes();
+		Files.write(corrupt, notASnapshot);
+		assertNull(SnapshotFile.read(corrupt, FINGERPRINT, false));
+	}
+
+	@Test
+	void codeOutsideTheDictionaryIsRejected(@TempDir Path dir) throws IOException {
+		DataTableBuilder builder = new DataTableBuilder(List.of("Name"));
+		for (String value : new String[] {"a", "b", "a"}) {
+			builder.startRow();
+			builder.setValue(0, value);
+			builder.endRow(2);
+		}
+		Path path = dir.resolve("book.xlsx.vds");
+		SnapshotFile.write(path, FINGERPRINT, Map.of("", builder.build()));
+		byte[] bytes = Files.readAllBytes(path);
+
+		// The only table's only column ends the file, so its last code is in the final four bytes
+		Path corrupt = dir.resolve("corrupt.vds");
+		for (int code : new int[] {2, -1, Integer.MAX_VALUE}) {
+			byte[] badCode = bytes.clone();
+			ByteBuffer.wrap(badCode).putInt(badCode.length - 4, code);
+			Files.write(corrupt, badCode);
+			for (boolean mapped : new boolean[] {false, true}) {
+				assertThrows(IOException.class, () -> SnapshotFile.read(corrupt, FINGERPRINT, mapped),
+					"code " + code + (mapped ? " mapped" : " on heap"));
+			}
+		}
+		assertEquals("a", SnapshotFile.read(path, FINGERPRINT, true).get("").getColumn("Name").getString(2));
+	}
+
+	private static void assertRejected(Path path, String message) {
+		try {
+			if (SnapshotFile.read(path, FINGERPRINT, false) != null) {
+				fail(message + " was read");
+			}
+		} catch (IOException expected) {
+			// Corrupt files are reported, and the caller falls back to parsing
+		}
+	}
+
+	private static void assertSameTable(DataTable expected, DataTable actual, String message) {
+		assertEquals(expected.getColumnNames(), actual.getColumnNames(), message);
+		assertEquals(expected.getRowCount(), actual.getRowCount(), message);
+		for (int row = 0; row < expected.getRowCount(); row++) {
+			assertEquals(expected.getRowNumber(row), actual.getRowNumber(row), message);
+		}
+		for (int i = 0; i < expected.getColumns().size(); i++) {
+			Column want = expected.getColumn(i);
+			Column got = actual.getColumn(i);
+			String column = message + ", column " + want.getName();
+			assertEquals(want.getType(), got.getType(), column);
+			assertEquals(want.getKind(), got.getKind(), column);
+			assertEquals(want.getParseFailures(), got.getParseFailures(), column);
+			for (int row = 0; row < expected.getRowCount(); row++) {
+				assertEquals(want.getString(row), got.getString(row), column + ", row " + row);
+				assertEquals(want.isBlank(row), got.isBlank(row), column + ", row " + row);
+				assertEquals(want.getDouble(row), got.getDouble(row), column + ", row " + row);
+				assertEquals(want.getEpochDay(row), got.getEpochDay(row), column + ", row " + row);
+			}
+			assertEquals(want.sum(), got.sum(), 1e-9, column);
+		}
+	}
+
+	// Every third cell is blank, so blank bitmaps span more than one word from 65 rows on
+	private static DataTable sample(int rows) {
+		DataTableBuilder builder = new DataTableBuilder(List.of("Name", "Qty", "Rate", "Due", "Note"));
+		for (int row = 0; row < rows; row++) {
+			boolean blank = row % 3 == 1;
+			builder.startRow();
+			builder.setValue(0, blank ? "" : "Item " + (row % 7));
+			builder.setValue(1, blank ? "" : Long.toString(row * 1000L - 5));
+			builder.setValue(2, blank ? "" : DoubleColumn.format(row * 0.25 + 0.5));
+			builder.setValue(3, blank ? "" : "2024-01-" + (10 + row % 20));
+			builder.setValue(4, row % 2 == 0 ? "caf\u00e9 \u20ac" : "");
+			builder.endRow(row * 2 + 5);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,167 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.dto.DashboardResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardStoreTest {
+
+	private static final long HOUR_MILLIS = 3_600_000;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	@Test
+	void rapidSavesCollapseIntoOneWriteOfTheLatest(@TempDir Path dir) throws Exception {
+		DashboardStore store = new DashboardStore(objectMapper, dir.toString(), 1_000_000, 300);
+		Path file = dir.resolve("dashboards").resolve("d1.json");
+		// An autosave burst, spread out so separate writes per save would land at different times
+		for (int version = 1; version <= 5; version++) {
+			store.save(dashboard("d1", "v" + version));
+			Thread.sleep(40);
+		}
+		assertFalse(Files.exists(file), "written before the write delay");
+		assertEquals("v5", store.get("d1").getName());
+
+		Object written = awaitFile(file);
+		assertEquals("v5", read(file).getName());
+		Thread.sleep(1000); // Several write delays: a second write would replace the file
+		assertEquals(written, Files.readAttributes(file, "unix:ino").get("ino"));
+		assertEquals("v5", read(file).getName());
+		store.destroy();
+	}
+
+	@Test
+	void pendingSavesAreWrittenOnceOnShutdown(@TempDir Path dir) throws Exception {
+		DashboardStore store = new DashboardStore(objectMapper, dir.toString(), 1_000_000, HOUR_MILLIS);
+		Path dashboards = dir.resolve("dashboards");
+		for (int version = 1; version <= 5; version++) {
+			store.save(dashboard("d1", "v" + version));
+			store.save(dashboard("d2", "w" + version));
+		}
+		store.update("d1", dashboard -> dashboard.setName("latest"));
+		assertFalse(Files.exists(dashboards.resolve("d1.json")));
+
+		store.destroy();
+		assertEquals("latest", read(dashboards.resolve("d1.json")).getName());
+		assertEquals("w5", read(dashboards.resolve("d2.json")).getName());
+		try (var files = Files.list(dashboards)) {
+			assertEquals(2, files.count(), "no temporary files are left behind");
+		}
+
+		DashboardStore reopened = new DashboardStore(objectMapper, dir.toString(), 1_000_000, HOUR_MILLIS);
+		assertEquals(2, reopened.size());
+		assertEquals("latest", reopened.getSummary("d1").getName());
+		reopened.destroy();
+	}
+
+	@Test
+	void failedWriteLeavesThePreviousFileIntact(@TempDir Path dir) throws Exception {
+		DashboardStore store = new DashboardStore(objectMapper, dir.toString(), 1_000_000, 0);
+		Path file = dir.resolve("dashboards").resolve("d1.json");
+		store.save(dashboard("d1", "v1"));
+		awaitFile(file);
+		assertEquals("v1", read(file).getName());
+
+		// A directory where the temporary file goes makes every write fail
+		Path blocker = Files.createDirectory(dir.resolve("dashboards").resolve("d1.json.tmp"));
+		store.save(dashboard("d1", "v2"));
+		Thread.sleep(500);
+		assertEquals("v1", read(file).getName());
+		assertEquals("v2", store.get("d1").getName());
+
+		// The failed write stays pending and goes out once writing works again
+		Files.delete(blocker);
+		store.destroy();
+		assertEquals("v2", read(file).getName());
+	}
+
+	@Test
+	void deleteDropsAPendingWrite(@TempDir Path dir) throws Exception {
+		DashboardStore store = new DashboardStore(objectMapper, dir.toString(), 1_000_000, HOUR_MILLIS);
+		store.save(dashboard("d1", "v1"));
+		store.delete("d1");
+		store.destroy();
+		assertFalse(Files.exists(dir.resolve("dashboards").resolve("d1.json")));
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void cacheMissReadsTheFileWithoutBlockingSaves(@TempDir Path dir) throws Exception {
+		DashboardStore writer = new DashboardStore(objectMapper, dir.toString(), 1_000_000, HOUR_MILLIS);
+		writer.save(dashboard("d1", "v1"));
+		writer.destroy();
+		DashboardStore store = new DashboardStore(objectMapper, dir.toString(), 1_000_000, HOUR_MILLIS);
+
+		// A named pipe in place of the file holds the miss inside its read until the pipe is fed
+		Path file = dir.resolve("dashboards").resolve("d1.json");
+		byte[] onDisk = Files.readAllBytes(file);
+		Files.delete(file);
+		assertEquals(0, new ProcessBuilder("mkfifo", file.toString()).start().waitFor());
+		CompletableFuture<DashboardResponse> read = new CompletableFuture<>();
+		Thread reader = new Thread(() -> {
+			try {
+				read.complete(store.get("d1"));
+			} catch (Throwable e) {
+				read.completeExceptionally(e);
+			}
+		});
+		reader.setDaemon(true);
+		reader.start();
+		Thread.sleep(200);
+
+		CompletableFuture<Void> saved = CompletableFuture.runAsync(() -> {
+			try {
+				store.save(dashboard("d1", "v2"));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		saved.get(5, TimeUnit.SECONDS);
+		assertFalse(read.isDone());
+
+		// The bytes read are older than the save that came in meanwhile, so the read does not keep them
+		Files.write(file, onDisk);
+		assertEquals("v2", read.get(5, TimeUnit.SECONDS).getName());
+		assertEquals("v2", store.get("d1").getName());
+		store.destroy();
+	}
+
+	// Waits for the writer thread and returns the file's inode
+	private static Object awaitFile(Path file) throws Exception {
+		for (int attempt = 0; attempt < 100 && !Files.exists(file); attempt++) {
+			Thread.sleep(50);
+		}
+		assertTrue(Files.exists(file), "never written");
+		return Files.readAttributes(file, "unix:ino").get("ino");
+	}
+
+	private DashboardResponse read(Path file) throws IOException {
+		return objectMapper.readValue(file.toFile(), DashboardResponse.class);
+	}
+
+	private static DashboardResponse dashboard(String id, String name) {
+		DashboardResponse dashboard = new DashboardResponse();
+		dashboard.setId(id);
+		dashboard.setName(name);
+		dashboard.setUser("tester");
+		dashboard.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+		dashboard.setUpdatedAt(LocalDateTime.now());
+		dashboard.setLayout(Map.of("columns", "2"));
+		return dashboard;
+	}
+}
@@ -0,0 +1,157 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.engine.BitmapIndex;
+import com.app.dashboard.visualize_dashboard.engine.ChunkedExecutor;
+import com.app.dashboard.visualize_dashboard.engine.RollupCube;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DataTableBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataAggregationServiceTest {
+
+	private static final List<String> DIMENSIONS = List.of("Region", "Grade", "Status");
+
+	private final DataAggregationService service = new DataAggregationService(ChunkedExecutor.SEQUENTIAL);
+
+	@Test
+	void rollupMatchesRowPath() {
+		DataTable table = rolledUp(sample(), 2);
+		List<List<String>> groupings = List.of(
+			List.of(), List.of("Region"), List.of("Grade"), List.of("Region", "Grade"), List.of("Grade", "Region"),
+			List.of("Status", "Grade"), List.of("Region", "Grade", "Status"));
+		List<Map<String, Object>> filterCases = List.of(
+			Map.of(),
+			Map.of("Region", "north"),
+			Map.of("Grade", List.of("", "B")),
+			Map.of("grade", ""),
+			Map.of("Status", "Open", "Region", List.of("North", "South")),
+			Map.of("Region", "Nowhere"),
+			Map.of("Region", List.of()));
+		String[][] measures = {
+			{"count", null}, {"count", "Qty"}, {"sum", "Qty"}, {"avg", "Qty"}, {"sum", "Rate"}, {"average", "Rate"},
+			{"sum", null}, {"avg", null}, {"sum", "Missing"}, {"sum", "Note"}, {"revenue_loss", null}};
+
+		int answered = 0;
+		for (List<String> groupBy : groupings) {
+			for (Map<String, Object> filters : filterCases) {
+				for (String[] measure : measures) {
+					String query = measure[0] + "(" + measure[1] + ") by " + groupBy + " where " + filters;
+					Map<String, Object> rolled = service.aggregateFromRollup(table, filters, groupBy, measure[0], measure[1]);
+					if (!covered(groupBy, filters, measure)) {
+						assertNull(rolled, query);
+						continue;
+					}
+					assertNotNull(rolled, query);
+					answered++;
+					Map<String, Object> rows = service.aggregate(table, service.filter(table, filters), groupBy, measure[0], measure[1]);
+					assertSameResult(rows, rolled, query);
+				}
+			}
+		}
+		assertTrue(answered > 100);
+	}
+
+	@Test
+	void withoutRollupsTheRowPathIsUsed() {
+		DataTable table = rolledUp(sample(), 0);
+		assertTrue(table.getRollups().isEmpty());
+		assertNull(service.aggregateFromRollup(table, Map.of(), List.of("Region"), "count", null));
+	}
+
+	@Test
+	void rollupCountsMatchDistribution() {
+		DataTable table = sample();
+		DataTable indexed = rolledUp(table, 1);
+		for (String dimension : DIMENSIONS) {
+			Map<String, Object> rolled = service.aggregateFromRollup(indexed, Map.of(), List.of(dimension), "count", null);
+			assertNotNull(rolled, dimension);
+			Map<String, Long> fromRollup = new LinkedHashMap<>();
+			List<?> labels = (List<?>) rolled.get("labels");
+			List<?> values = (List<?>) rolled.get("values");
+			for (int i = 0; i < labels.size(); i++) {
+				fromRollup.put((String) labels.get(i), ((Integer) values.get(i)).longValue());
+			}
+
+			// The distribution reports blanks under their own (empty) value, the chart under N/A
+			for (DataTable source : List.of(table, indexed)) {
+				Map<String, Long> distribution = new LinkedHashMap<>();
+				service.getDistribution(source, dimension).forEach((value, count) ->
+					distribution.put(value.isEmpty() ? "N/A" : value, count));
+				assertEquals(distribution, fromRollup, dimension);
+			}
+		}
+	}
+
+	// A cube covers the query when its dimensions, at most maxDimensions of them, take in every
+	// grouped and filtered column, and the value column is absent or a measure
+	private static boolean covered(List<String> groupBy, Map<String, Object> filters, String[] measure) {
+		if ("revenue_loss".equals(measure[0]) || ("Note".equals(measure[1]) && !"count".equals(measure[0]))) {
+			return false;
+		}
+		Set<String> columns = new HashSet<>(groupBy);
+		filters.keySet().forEach(column -> columns.add(Character.toUpperCase(column.charAt(0)) + column.substring(1)));
+		return columns.size() <= 2;
+	}
+
+	private static void assertSameResult(Map<String, Object> expected, Map<String, Object> actual, String query) {
+		assertEquals(expected.keySet(), actual.keySet(), query);
+		if (expected.containsKey("value")) {
+			assertSameValue(expected.get("value"), actual.get("value"), query);
+			return;
+		}
+		assertEquals(expected.get("labels"), actual.get("labels"), query);
+		List<?> expectedValues = (List<?>) expected.get("values");
+		List<?> actualValues = (List<?>) actual.get("values");
+		assertEquals(expectedValues.size(), actualValues.size(), query);
+		for (int i = 0; i < expectedValues.size(); i++) {
+			assertSameValue(expectedValues.get(i), actualValues.get(i), query + ", group " + i);
+		}
+	}
+
+	// Cells and rows add doubles in a different order, so sums may differ in the last bits
+	private static void assertSameValue(Object expected, Object actual, String query) {
+		assertInstanceOf(expected.getClass(), actual, query);
+		if (expected instanceof Double value) {
+			assertEquals(value, (Double) actual, 1e-9 * Math.max(1, Math.abs(value)), query);
+		} else {
+			assertEquals(expected, actual, query);
+		}
+	}
+
+	private static DataTable rolledUp(DataTable table, int maxDimensions) {
+		DataTable indexed = table.withIndexes(BitmapIndex.buildAll(table, 256));
+		return indexed.withRollups(RollupCube.buildAll(indexed, DIMENSIONS, maxDimensions, 4096));
+	}
+
+	// Region, Grade and Status are dimensions (Grade with blanks); Qty and Rate are measures with
+	// blanks; Note is text and never a measure
+	private static DataTable sample() {
+		String[] regions = {"North", "South", "East", "north"};
+		String[] grades = {"A", "", "B", "C", "b"};
+		String[] statuses = {"Open", "Closed", "On Hold"};
+		DataTableBuilder builder = new DataTableBuilder(List.of("Region", "Grade", "Status", "Qty", "Rate", "Note"));
+		for (int row = 0; row < 250; row++) {
+			builder.startRow();
+			builder.setValue(0, regions[(row * 7 + row / 5) % regions.length]);
+			builder.setValue(1, grades[(row * 3 + row / 11) % grades.length]);
+			builder.setValue(2, statuses[(row + row / 4) % statuses.length]);
+			builder.setValue(3, row % 6 == 0 ? "" : Integer.toString((row * 37) % 101 - 20));
+			builder.setValue(4, row % 9 == 4 ? "" : Double.toString(((row * 13) % 17) * 0.1));
+			builder.setValue(5, "note " + row);
+			builder.endRow(row + 2);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,298 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.dto.IngestionFileStatus;
+import com.app.dashboard.visualize_dashboard.model.entity.SavedFile;
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DataTableBuilder;
+import com.app.dashboard.visualize_dashboard.model.table.DatasetSnapshot;
+import com.app.dashboard.visualize_dashboard.repository.SavedFileRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileServiceTest {
+
+	@Test
+	void nullTypeHasNoData() {
+		FileService fileService = new FileService(null, null, null, null);
+		assertNullTypeHasNoData(fileService);
+	}
+
+	@Test
+	void nullTypeHasNoDataWhileFilesArePending() {
+		SavedFile saved = new SavedFile();
+		saved.setFileType("open");
+		saved.setFilePath("missing.xlsx");
+		SavedFileRepository repository = mock(SavedFileRepository.class);
+		when(repository.findAll()).thenReturn(List.of(saved));
+		FileService fileService = new FileService(null, null, repository, null);
+		fileService.restoreOnStartup(); // Registers "open" as pending; the lazy default hydrates on access
+
+		assertNullTypeHasNoData(fileService);
+	}
+
+	private static void assertNullTypeHasNoData(FileService fileService) {
+		DatasetSnapshot snapshot = fileService.getSnapshot(null);
+		assertNull(snapshot.getType());
+		assertTrue(snapshot.getTable().isEmpty());
+		assertTrue(fileService.getData(null).isEmpty());
+		assertTrue(fileService.getColumns(null).isEmpty());
+	}
+
+	@Test
+	void keyColumnSpecHonoursEscapes() {
+		Map<String, List<String>> keys = FileService.parseKeyColumns(
+			"open=Requirement ID, Rev\\, Q1;release = Employee ID;odd=a\\=b\\;c;empty=;=x");
+		assertEquals(List.of("Requirement ID", "Rev, Q1"), keys.get("open"));
+		assertEquals(List.of("Employee ID"), keys.get("release"));
+		assertEquals(List.of("a=b;c"), keys.get("odd"));
+		assertEquals(List.of(), keys.get("empty"));
+		assertEquals(Set.of("open", "release", "odd", "empty"), keys.keySet());
+	}
+
+	@Test
+	void emptyKeyColumnSpec() {
+		assertEquals(Map.of(), FileService.parseKeyColumns(""));
+	}
+
+	@Test
+	void snapshotLoadReportsProgressInSnapshotBytes(@TempDir Path dir) throws IOException {
+		Path source = Files.write(dir.resolve("open.xlsx"), new byte[] {1, 2, 3});
+		SnapshotStore snapshotStore = new SnapshotStore();
+		ReflectionTestUtils.setField(snapshotStore, "enabled", true);
+		snapshotStore.save(source.toString(), false, Map.of("", table("Grade", "A", "B")));
+		FileService fileService = loadingService(null, snapshotStore);
+
+		IngestionJob job = new IngestionJob();
+		IngestionJob.FileTask task = job.addFile("open", source.toString(), "open.xlsx", Files.size(source));
+		fileService.loadFile(source.toString(), "open", task);
+
+		IngestionFileStatus status = job.toResponse().getFiles().get(0);
+		assertEquals(2, status.getRowsParsed());
+		assertEquals(Files.size(dir.resolve("open.xlsx.vds")), status.getBytesTotal());
+		assertEquals(status.getBytesTotal(), status.getBytesProcessed());
+	}
+
+	@Test
+	void incrementalReloadReusesWhatDidNotChange() throws IOException {
+		ExcelParsingService parser = mock(ExcelParsingService.class);
+		FileService fileService = loadingService(parser, new SnapshotStore());
+		ReflectionTestUtils.setField(fileService, "incrementalIngest", true);
+		ReflectionTestUtils.setField(fileService, "incrementalKeyColumns", "open=ID");
+		ReflectionTestUtils.setField(fileService, "indexMaxCardinality", 256);
+		ReflectionTestUtils.setField(fileService, "rollupDimensions", List.of("Region"));
+		ReflectionTestUtils.setField(fileService, "rollupMaxDimensions", 2);
+		ReflectionTestUtils.setField(fileService, "rollupMaxCells", 4096);
+
+		when(parser.parseExcelFile(any(), any())).thenReturn(
+			regions("10", "a"), regions("10", "a"), regions("10", "b"), regions("15", "b"), regions("15", "b", "3"));
+
+		fileService.loadFile("open.xlsx", "open");
+		DatasetSnapshot loaded = fileService.getSnapshot("open");
+		assertEquals(1, loaded.getTable().getRollups().size());
+
+		fileService.loadFile("open.xlsx", "open");
+		DatasetSnapshot unchanged = fileService.getSnapshot("open");
+		assertEquals(loaded.getVersion(), unchanged.getVersion());
+		assertSame(loaded.getTable(), unchanged.getTable());
+
+		// A note is neither a dimension nor a measure, so the cube survives
+		fileService.loadFile("open.xlsx", "open");
+		DatasetSnapshot noteChanged = fileService.getSnapshot("open");
+		assertNotEquals(unchanged.getVersion(), noteChanged.getVersion());
+		assertEquals("b", noteChanged.getTable().getColumn("Note").getString(1));
+		assertSame(unchanged.getTable().getColumn("Region"), noteChanged.getTable().getColumn("Region"));
+		assertSame(unchanged.getTable().getColumn("Qty"), noteChanged.getTable().getColumn("Qty"));
+		assertSame(unchanged.getTable().getRollups().get(0), noteChanged.getTable().getRollups().get(0));
+
+		fileService.loadFile("open.xlsx", "open");
+		DatasetSnapshot qtyChanged = fileService.getSnapshot("open");
+		assertEquals("15", qtyChanged.getTable().getColumn("Qty").getString(1));
+		assertNotSame(noteChanged.getTable().getRollups().get(0), qtyChanged.getTable().getRollups().get(0));
+
+		fileService.loadFile("open.xlsx", "open");
+		DatasetSnapshot inserted = fileService.getSnapshot("open");
+		assertEquals(3, inserted.getTable().getRowCount());
+		assertEquals(1, inserted.getTable().getRollups().size());
+	}
+
+	// Two or three rows keyed by ID; the second row carries the given quantity and note
+	private static DataTable regions(String qty, String note, String... extraId) {
+		DataTableBuilder builder = new DataTableBuilder(List.of("ID", "Region", "Qty", "Note"));
+		List<String[]> rows = new ArrayList<>();
+		rows.add(new String[] {"1", "North", "10", "a"});
+		rows.add(new String[] {"2", "South", qty, note});
+		for (String id : extraId) {
+			rows.add(new String[] {id, "North", "5", "c"});
+		}
+		for (int row = 0; row < rows.size(); row++) {
+			builder.startRow();
+			for (int column = 0; column < 4; column++) {
+				builder.setValue(column, rows.get(row)[column]);
+			}
+			builder.endRow(row + 2);
+		}
+		return builder.build();
+	}
+
+	@Test
+	void corruptSnapshotFallsBackToParsing(@TempDir Path dir) throws IOException {
+		Path source = Files.write(dir.resolve("open.xlsx"), new byte[] {1, 2, 3});
+		SnapshotStore snapshotStore = new SnapshotStore();
+		ReflectionTestUtils.setField(snapshotStore, "enabled", true);
+		snapshotStore.save(source.toString(), false, Map.of("", table("Grade", "stale")));
+		Path snapshot = dir.resolve("open.xlsx.vds");
+		byte[] bytes = Files.readAllBytes(snapshot);
+		Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+
+		ExcelParsingService parser = mock(ExcelParsingService.class);
+		when(parser.parseExcelFile(any(), any())).thenReturn(table("Grade", "A", "B"));
+		FileService fileService = loadingService(parser, snapshotStore);
+		fileService.loadFile(source.toString(), "open");
+
+		verify(parser).parseExcelFile(eq(source.toString()), any());
+		assertEquals("B", fileService.getData("open").getColumn("Grade").getString(1));
+		// The parse replaced the corrupt snapshot, so the next load reads it
+		assertEquals(2, snapshotStore.load(source.toString(), false).get("").getRowCount());
+	}
+
+	@Test
+	void uploadDuringRestoreWinsWhenTheRestoreFinishesLast(@TempDir Path dir) throws Exception {
+		RestoreRace race = new RestoreRace(Files.write(dir.resolve("a.xlsx"), new byte[] {1}).toString());
+		Thread reader = race.startRestoreRead();
+
+		race.fileService.loadFile("b.xlsx", "open");
+		assertEquals("B", race.grade());
+		race.restoreMayFinish.countDown();
+		reader.join(5000);
+
+		assertEquals("B", race.grade());
+		race.assertOnlyUploadRecorded();
+	}
+
+	@Test
+	void uploadDuringRestoreWinsWhenTheRestoreFinishesFirst(@TempDir Path dir) throws Exception {
+		RestoreRace race = new RestoreRace(Files.write(dir.resolve("a.xlsx"), new byte[] {1}).toString());
+		Thread reader = race.startRestoreRead();
+		CountDownLatch uploadParsing = new CountDownLatch(1);
+		CountDownLatch uploadMayFinish = new CountDownLatch(1);
+		when(race.parser.parseExcelFile(eq("b.xlsx"), any())).thenAnswer(invocation -> {
+			uploadParsing.countDown();
+			uploadMayFinish.await();
+			return table("Grade", "B");
+		});
+		Thread upload = new Thread(() -> {
+			try {
+				race.fileService.loadFile("b.xlsx", "open");
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		upload.setDaemon(true);
+		upload.start();
+		assertTrue(uploadParsing.await(5, TimeUnit.SECONDS));
+
+		race.restoreMayFinish.countDown();
+		reader.join(5000);
+		assertFalse(race.fileService.getLoadedDatasets().containsKey("open"), "the restored file was published");
+		uploadMayFinish.countDown();
+		upload.join(5000);
+
+		assertEquals("B", race.grade());
+		race.assertOnlyUploadRecorded();
+	}
+
+	// A lazily restored "open" file whose parse waits for restoreMayFinish, and an upload of b.xlsx
+	private static class RestoreRace {
+		final ExcelParsingService parser = mock(ExcelParsingService.class);
+		final SavedFileRepository repository = mock(SavedFileRepository.class);
+		final FileService fileService = new FileService(parser, new SnapshotStore(), repository, new ObjectMapper());
+		final CountDownLatch restoreParsing = new CountDownLatch(1);
+		final CountDownLatch restoreMayFinish = new CountDownLatch(1);
+
+		RestoreRace(String restoredPath) throws IOException {
+			ReflectionTestUtils.setField(fileService, "rollupDimensions", List.of());
+			ReflectionTestUtils.setField(fileService, "startupMode", "lazy");
+			SavedFile saved = new SavedFile();
+			saved.setFileType("open");
+			saved.setFilePath(restoredPath);
+			when(repository.findAll()).thenReturn(List.of(saved));
+			when(repository.findByFileType(any())).thenReturn(Optional.empty());
+			when(parser.parseExcelFile(eq(restoredPath), any())).thenAnswer(invocation -> {
+				restoreParsing.countDown();
+				restoreMayFinish.await();
+				return table("Grade", "A");
+			});
+			when(parser.parseExcelFile(eq("b.xlsx"), any())).thenReturn(table("Grade", "B"));
+			fileService.restoreOnStartup();
+		}
+
+		// A first read starts restoring the file and blocks until the restore completes
+		Thread startRestoreRead() throws InterruptedException {
+			Thread reader = new Thread(() -> fileService.getSnapshot("open"));
+			reader.setDaemon(true);
+			reader.start();
+			assertTrue(restoreParsing.await(5, TimeUnit.SECONDS));
+			return reader;
+		}
+
+		String grade() {
+			return fileService.getData("open").getColumn("Grade").getString(0);
+		}
+
+		void assertOnlyUploadRecorded() {
+			ArgumentCaptor<SavedFile> saved = ArgumentCaptor.forClass(SavedFile.class);
+			verify(repository, atLeastOnce()).save(saved.capture());
+			saved.getAllValues().forEach(file -> assertEquals("b.xlsx", file.getFilePath()));
+		}
+	}
+
+	// A service that loads files, with no rollups configured
+	private static FileService loadingService(ExcelParsingService excelParsingService, SnapshotStore snapshotStore) {
+		SavedFileRepository repository = mock(SavedFileRepository.class);
+		when(repository.findByFileType(any())).thenReturn(Optional.empty());
+		FileService fileService = new FileService(excelParsingService, snapshotStore, repository, new ObjectMapper());
+		ReflectionTestUtils.setField(fileService, "rollupDimensions", List.of());
+		return fileService;
+	}
+
+	// One column with a row per value
+	private static DataTable table(String column, String... values) {
+		DataTableBuilder builder = new DataTableBuilder(List.of(column));
+		for (int row = 0; row < values.length; row++) {
+			builder.startRow();
+			builder.setValue(0, values[row]);
+			builder.endRow(row + 2);
+		}
+		return builder.build();
+	}
+}
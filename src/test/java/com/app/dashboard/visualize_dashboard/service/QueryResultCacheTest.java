@@ -0,0 +1,76 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class QueryResultCacheTest {
+
+	@Test
+	void filterValuesWithSeparatorsDoNotCollide() {
+		assertDistinct(Map.of("Location", List.of("a, b")), Map.of("Location", List.of("a", "b")));
+		assertDistinct(Map.of("Location", "a"), Map.of("Location", List.of("a")));
+		assertDistinct(Map.of("a=b", "c"), Map.of("a", "b=c"));
+		assertDistinct(Map.of("a|b", "c"), Map.of("a", "b|c"));
+		assertDistinct(Map.of("a", "x", "b", "y"), Map.of("a", "x, b=y"));
+		assertDistinct(Map.of("Qty", Map.of("min", "1", "max", "2")), Map.of("Qty", Map.of("min", "1, max=2")));
+		assertDistinct(Map.of("Qty", Map.of("min", "1")), Map.of("Qty", "range:{min=1}"));
+	}
+
+	@Test
+	void groupByAndColumnsWithSeparatorsDoNotCollide() {
+		assertNotEquals(
+			QueryResultCache.key("aggregate", "open", 1, null, List.of("a, b"), "count", null),
+			QueryResultCache.key("aggregate", "open", 1, null, List.of("a", "b"), "count", null));
+		assertNotEquals(
+			QueryResultCache.key("aggregate", "open", 1, null, List.of(), "sum", "x|y"),
+			QueryResultCache.key("aggregate", "open|x", 1, null, List.of(), "sum", "y"));
+		assertNotEquals(
+			QueryResultCache.key("aggregate", "open", 1, null, null, "sum", "null"),
+			QueryResultCache.key("aggregate", "open", 1, null, null, "sum", null));
+		assertNotEquals(
+			QueryResultCache.compose(List.of("a"), List.of("b")),
+			QueryResultCache.compose(List.of("a", "b"), List.of()));
+		assertNotEquals(QueryResultCache.compose("ab", "c"), QueryResultCache.compose("a", "bc"));
+		assertNotEquals(QueryResultCache.compose((Object) null), QueryResultCache.compose("~"));
+		// The unique-values ETag key: type "a|5|x" with column "c" against type "a" at version 5 with column "x|5|c"
+		assertNotEquals(QueryResultCache.compose("unique-values", "a|5|x", 1L, "c"),
+			QueryResultCache.compose("unique-values", "a", 5L, "x|5|c"));
+	}
+
+	@Test
+	void equivalentQueriesShareAKey() {
+		Map<String, Object> ordered = new LinkedHashMap<>();
+		ordered.put("Location", List.of("Pune", "delhi"));
+		ordered.put("Grade", "B");
+		Map<String, Object> reordered = new LinkedHashMap<>();
+		reordered.put("grade", "b");
+		reordered.put("LOCATION", List.of("DELHI", "pune"));
+		reordered.put("Status", "  ");
+		assertEquals(
+			QueryResultCache.key("preview", "open", 3, ordered, List.of("Grade"), "SUM", "Qty"),
+			QueryResultCache.key("preview", "open", 3, reordered, List.of("Grade"), "sum", "Qty"));
+		assertEquals(
+			QueryResultCache.key("preview", "open", 3, null, null, null, null),
+			QueryResultCache.key("preview", "open", 3, Map.of(), List.of(), "count", null));
+	}
+
+	@Test
+	void versionIsPartOfTheKey() {
+		assertNotEquals(
+			QueryResultCache.key("preview", "open", 1, null, null, "count", null),
+			QueryResultCache.key("preview", "open", 11, null, null, "count", null));
+	}
+
+	private static void assertDistinct(Map<String, Object> first, Map<String, Object> second) {
+		String firstKey = QueryResultCache.key("aggregate", "open", 1, first, List.of("Grade"), "count", null);
+		String secondKey = QueryResultCache.key("aggregate", "open", 1, second, List.of("Grade"), "count", null);
+		assertNotEquals(firstKey, secondKey, first + " vs " + second);
+	}
+
+}
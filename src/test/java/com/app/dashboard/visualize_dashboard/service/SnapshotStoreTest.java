@@ -0,0 +1,86 @@
+package com.app.dashboard.visualize_dashboard.service;
+
+import com.app.dashboard.visualize_dashboard.model.table.DataTable;
+import com.app.dashboard.visualize_dashboard.model.table.DataTableBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SnapshotStoreTest {
+
+	@Test
+	void loadsWhatWasSaved(@TempDir Path dir) throws IOException {
+		Path source = Files.write(dir.resolve("book.xlsx"), new byte[] {1, 2, 3, 4});
+		SnapshotStore store = enabledStore("heap");
+		store.save(source.toString(), false, Map.of("", table()));
+
+		Map<String, DataTable> loaded = store.load(source.toString(), false);
+		assertNotNull(loaded);
+		assertEquals(List.of("Region", "Qty"), loaded.get("").getColumnNames());
+		assertEquals("", loaded.get("").getColumn("Qty").getString(1));
+		assertEquals("7", loaded.get("").getColumn("Qty").getString(2));
+	}
+
+	@Test
+	void changedSourceOrParseModeIsStale(@TempDir Path dir) throws IOException {
+		Path source = Files.write(dir.resolve("book.xlsx"), new byte[] {1, 2, 3, 4});
+		SnapshotStore store = enabledStore("mapped");
+		store.save(source.toString(), false, Map.of("", table()));
+
+		assertNull(store.load(source.toString(), true));
+		Files.write(source, new byte[] {1, 2, 3, 5});
+		assertNull(store.load(source.toString(), false));
+	}
+
+	@Test
+	void corruptSnapshotLoadsAsMissing(@TempDir Path dir) throws IOException {
+		Path source = Files.write(dir.resolve("book.xlsx"), new byte[] {1, 2, 3, 4});
+		SnapshotStore store = enabledStore("heap");
+		store.save(source.toString(), false, Map.of("", table()));
+		Path snapshot = dir.resolve("book.xlsx.vds");
+		byte[] bytes = Files.readAllBytes(snapshot);
+		Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 9));
+
+		assertNull(store.load(source.toString(), false));
+	}
+
+	@Test
+	void disabledStoreNeitherSavesNorLoads(@TempDir Path dir) throws IOException {
+		Path source = Files.write(dir.resolve("book.xlsx"), new byte[] {1, 2, 3, 4});
+		SnapshotStore store = new SnapshotStore();
+		store.save(source.toString(), false, Map.of("", table()));
+
+		assertEquals(-1, store.snapshotSize(source.toString()));
+		assertNull(store.load(source.toString(), false));
+	}
+
+	private static SnapshotStore enabledStore(String storage) {
+		SnapshotStore store = new SnapshotStore();
+		ReflectionTestUtils.setField(store, "enabled", true);
+		ReflectionTestUtils.setField(store, "storage", storage);
+		return store;
+	}
+
+	private static DataTable table() {
+		DataTableBuilder builder = new DataTableBuilder(List.of("Region", "Qty"));
+		String[][] rows = {{"North", "3"}, {"", ""}, {"South", "7"}};
+		for (int row = 0; row < rows.length; row++) {
+			builder.startRow();
+			builder.setValue(0, rows[row][0]);
+			builder.setValue(1, rows[row][1]);
+			builder.endRow(row + 2);
+		}
+		return builder.build();
+	}
+}